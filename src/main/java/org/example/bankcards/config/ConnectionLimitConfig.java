@@ -0,0 +1,79 @@
+package org.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Оборачивает пул соединений в {@link ConnectionLimitingDataSource}.
+ * <p>
+ * Включается настройкой {@code datasource.connection-limit.enabled}; по умолчанию она следует
+ * за {@code spring.threads.virtual.enabled}. Число разрешений равно {@code maximum-pool-size} HikariCP,
+ * время ожидания по умолчанию — {@code connection-timeout} пула; общее ожидание соединения
+ * в худшем случае вдвое больше (см. {@link ConnectionLimitingDataSource}).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.connection-limit.enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    /**
+     * Размер пула HikariCP, если {@code maximum-pool-size} не задан: до запуска пула он равен -1.
+     */
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static ConnectionLimitingDataSourcePostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new ConnectionLimitingDataSourcePostProcessor(environment);
+    }
+
+    /**
+     * Метрики семафора; источник данных может быть обёрнут ещё раз (см. {@link QueryLoggingConfig}),
+     * поэтому {@link ConnectionLimitingDataSource} извлекается через {@link DataSource#unwrap(Class)}.
+     */
+    @Bean
+    public MeterBinder connectionLimitingDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(ConnectionLimitingDataSource.class).bindTo(registry);
+            } catch (SQLException e) {
+                log.warn("Метрики ограничения соединений недоступны: {}", e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Выполняется раньше {@link QueryLoggingConfig}: семафор оборачивает сам пул HikariCP.
+     * Тип возвращается из {@code @Bean}-метода явно, иначе Spring не учитывает {@link Ordered}.
+     */
+    record ConnectionLimitingDataSourcePostProcessor(Environment environment) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int maxConnections = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+            Duration acquireTimeout = environment.getProperty("datasource.connection-limit.acquire-timeout",
+                    Duration.class, Duration.ofMillis(hikari.getConnectionTimeout()));
+            log.info("Соединения с базой данных ограничены семафором: {} разрешений, ожидание {}",
+                    maxConnections, acquireTimeout);
+            return new ConnectionLimitingDataSource(hikari, maxConnections, acquireTimeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.bankcards.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Источник данных, ограничивающий число одновременно выданных соединений семафором.
+ * <p>
+ * Число разрешений равно размеру пула, поэтому лишние потоки ждут в честной очереди семафора,
+ * а не в пуле соединений. Это важно для виртуальных потоков: их может быть десятки тысяч, и без ограничения
+ * все они одновременно ожидают соединение внутри пула. Разрешение возвращается при закрытии соединения;
+ * если оно не получено за {@code acquireTimeout}, выбрасывается {@link SQLTransientConnectionException},
+ * как при исчерпании пула.
+ * <p>
+ * После получения разрешения пул ждёт соединение ещё до своего {@code connectionTimeout}. Обычно соединение
+ * свободно сразу, так как разрешений столько же, сколько соединений, но в худшем случае (например, пока пул
+ * создаёт новое соединение) общее ожидание равно {@code acquireTimeout + connectionTimeout}.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long acquireTimeoutNanos;
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Публикует число потоков, ожидающих соединение, и число свободных разрешений.
+     * Вызывается из {@link ConnectionLimitConfig}.
+     *
+     * @param registry реестр метрик
+     */
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bankcards.datasource.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Потоки, ожидающие разрешение на соединение")
+                .register(registry);
+        Gauge.builder("bankcards.datasource.permits.available", permits, Semaphore::availablePermits)
+                .description("Свободные разрешения на соединение")
+                .register(registry);
+    }
+
+    /**
+     * Возвращает максимальное число одновременно выданных соединений.
+     *
+     * @return число разрешений семафора
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Соединение с базой данных не получено за "
+                        + Duration.ofNanos(acquireTimeoutNanos).toMillis() + " мс: все " + maxConnections + " заняты");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Ожидание соединения с базой данных прервано", e);
+        }
+    }
+
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionLimitingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Размер пула HikariCP и проверка его соответствия числу потоков Tomcat.
+ * <p>
+ * Если {@code spring.datasource.hikari.maximum-pool-size} не задан, размер вычисляется по числу процессоров:
+ * {@code процессоры × datasource.pool.connections-per-cpu + 1} (формула из рекомендаций HikariCP;
+ * при отдельном сервере БД размер лучше задать явно по его числу ядер).
+ * <p>
+ * Если {@code server.tomcat.threads.max} не задан, число потоков Tomcat равно
+ * {@code размер пула × datasource.pool.max-threads-per-connection}: остальные запросы ждут в очереди
+ * приёма соединений, а не в очереди пула. Если оба значения заданы явно и потоков больше в указанное
+ * число раз, после запуска в журнал пишется предупреждение.
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class DataSourcePoolConfig {
+
+    private final DataSource dataSource;
+    private final ServerProperties serverProperties;
+    private final Environment environment;
+
+    @Bean
+    public static HikariPoolSizingPostProcessor hikariPoolSizingPostProcessor(Environment environment) {
+        return new HikariPoolSizingPostProcessor(Runtime.getRuntime().availableProcessors(),
+                environment.getProperty("datasource.pool.connections-per-cpu", Integer.class, 2));
+    }
+
+    @Bean
+    public static TomcatThreadsSizingPostProcessor tomcatThreadsSizingPostProcessor(Environment environment) {
+        if (environment.containsProperty("server.tomcat.threads.max")) {
+            return new TomcatThreadsSizingPostProcessor(0);
+        }
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 0);
+        if (poolSize <= 0) {
+            poolSize = hikariPoolSizingPostProcessor(environment).poolSize();
+        }
+        return new TomcatThreadsSizingPostProcessor(poolSize * maxThreadsPerConnection(environment));
+    }
+
+    /**
+     * Предупреждает о числе потоков Tomcat, намного превышающем размер пула.
+     * С виртуальными потоками проверка не нужна: обращения к базе ограничены {@link ConnectionLimitingDataSource}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void validatePoolSize() throws SQLException {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                || !dataSource.isWrapperFor(HikariDataSource.class)) {
+            return;
+        }
+        int poolSize = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        int maxThreads = serverProperties.getTomcat().getThreads().getMax();
+        int maxThreadsPerConnection = maxThreadsPerConnection(environment);
+        if (isPoolUndersized(maxThreads, poolSize, maxThreadsPerConnection)) {
+            log.warn("Потоков Tomcat ({}) больше, чем соединений в пуле ({}) × {}: при нагрузке запросы будут ждать "
+                            + "соединение. Уменьшите server.tomcat.threads.max или увеличьте "
+                            + "spring.datasource.hikari.maximum-pool-size",
+                    maxThreads, poolSize, maxThreadsPerConnection);
+        }
+    }
+
+    static boolean isPoolUndersized(int maxThreads, int poolSize, int maxThreadsPerConnection) {
+        return maxThreads > (long) poolSize * maxThreadsPerConnection;
+    }
+
+    private static int maxThreadsPerConnection(Environment environment) {
+        return environment.getProperty("datasource.pool.max-threads-per-connection", Integer.class, 4);
+    }
+
+    /**
+     * Задаёт размер пула до инициализации {@link HikariDataSource}, если он не указан в настройках.
+     * Тип возвращается из {@code @Bean}-метода явно, иначе Spring не учитывает {@link Ordered}.
+     */
+    record HikariPoolSizingPostProcessor(int processors, int connectionsPerCpu) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() <= 0) {
+                hikari.setMaximumPoolSize(poolSize());
+                log.info("Размер пула соединений вычислен по числу процессоров ({}): {}", processors, poolSize());
+            }
+            return bean;
+        }
+
+        int poolSize() {
+            return processors * connectionsPerCpu + 1;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    /**
+     * Задаёт {@code server.tomcat.threads.max} по размеру пула, если он не указан в настройках.
+     * Срабатывает после привязки {@link ServerProperties}; {@code maxThreads = 0} — значение задано явно.
+     */
+    record TomcatThreadsSizingPostProcessor(int maxThreads) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (maxThreads > 0 && bean instanceof ServerProperties server) {
+                ServerProperties.Tomcat.Threads threads = server.getTomcat().getThreads();
+                threads.setMax(Math.max(maxThreads, threads.getMinSpare()));
+                log.info("Число потоков Tomcat вычислено по размеру пула соединений: {}", threads.getMax());
+            }
+            return bean;
+        }
+    }
+}
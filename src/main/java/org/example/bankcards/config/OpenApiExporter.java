@@ -3,6 +3,7 @@ package org.example.bankcards.config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -11,9 +12,13 @@ import java.io.FileWriter;
 
 /**
  * Компонент, отвечающий за экспорт OpenAPI спецификации в JSON-файл.
+ * <p>
+ * Не создаётся в профилях {@code test}, {@code benchmark} и {@code loadtest}, чтобы интеграционные тесты,
+ * бенчмарки и нагрузочный тест не перезаписывали спецификацию.
  */
 @Slf4j
 @Component
+@Profile("!test & !benchmark & !loadtest")
 public class OpenApiExporter implements ApplicationRunner {
 
     /**
@@ -0,0 +1,29 @@
+package org.example.bankcards.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Регистрирует open-in-view для всех запросов, кроме {@code /auth/**}.
+ * <p>
+ * Open-in-view удерживает соединение с базой данных до конца запроса. Вход и регистрация ждут
+ * пула хэширования паролей, поэтому волна входов заняла бы весь пул соединений.
+ * Стандартная регистрация отключена настройкой {@code spring.jpa.open-in-view: false}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerInViewConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/auth/**");
+    }
+}
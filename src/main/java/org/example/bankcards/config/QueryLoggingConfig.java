@@ -0,0 +1,52 @@
+package org.example.bankcards.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает источник данных в прокси datasource-proxy с {@link SampledQueryLoggingListener}.
+ * <p>
+ * Включается настройкой {@code datasource.query-log.enabled}; доля журналируемых запросов —
+ * {@code datasource.query-log.sample-rate}. Прокси оборачивает источник данных последним,
+ * поэтому время запроса не включает ожидание соединения.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.query-log.enabled", havingValue = "true")
+public class QueryLoggingConfig {
+
+    @Bean
+    public static QueryLoggingDataSourcePostProcessor queryLoggingDataSourcePostProcessor(Environment environment) {
+        return new QueryLoggingDataSourcePostProcessor(
+                environment.getProperty("datasource.query-log.sample-rate", Double.class, 1.0));
+    }
+
+    record QueryLoggingDataSourcePostProcessor(double sampleRate) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            log.info("Журналирование SQL-запросов включено: доля {}", sampleRate);
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SampledQueryLoggingListener(sampleRate))
+                    .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
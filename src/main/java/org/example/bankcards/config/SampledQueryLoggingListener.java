@@ -0,0 +1,63 @@
+package org.example.bankcards.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Журналирует выборку SQL-запросов с временем выполнения.
+ * <p>
+ * Записывается доля {@code sampleRate} запросов (от 0 до 1). Значения параметров не выводятся:
+ * в журнал попадает текст запроса с плейсхолдерами и число параметров.
+ */
+@Slf4j
+public class SampledQueryLoggingListener implements QueryExecutionListener {
+
+    private final double sampleRate;
+
+    public SampledQueryLoggingListener(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (log.isInfoEnabled() && sampled()) {
+            log.info(describe(execInfo, queryInfoList));
+        }
+    }
+
+    boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Формирует запись журнала без значений параметров.
+     *
+     * @param execInfo      сведения о выполнении
+     * @param queryInfoList выполненные запросы
+     * @return строка вида {@code 3 ms, пакет 1, параметров 2: select ... where id=?}
+     */
+    static String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int parameters = queryInfoList.stream()
+                .mapToInt(queryInfo -> queryInfo.getParametersList().stream().mapToInt(List::size).sum())
+                .sum();
+        String queries = queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+        return String.format("%d ms%s, пакет %d, параметров %d: %s",
+                execInfo.getElapsedTime(),
+                execInfo.isSuccess() ? "" : ", ошибка",
+                Math.max(1, execInfo.getBatchSize()),
+                parameters,
+                queries);
+    }
+}
@@ -6,18 +6,35 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.example.bankcards.dto.CacheStatsDto;
 import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardExportDto;
+import org.example.bankcards.dto.CardTransferExportDto;
+import org.example.bankcards.dto.CursorPageDto;
+import org.example.bankcards.dto.RetryStatsDto;
 import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.enums.ExportFormatEnum;
+import org.example.bankcards.retry.ConcurrencyRetryAspect;
+import org.example.bankcards.security.service.CachedUserDetailsService;
 import org.example.bankcards.service.CardBusinessService;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.ExportService;
 import org.example.bankcards.service.UserService;
+import org.example.bankcards.service.cache.CardBalanceCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -31,7 +48,11 @@ public class AdminController {
 
     private final UserService userService;
     private final CardService cardService;
+    private final ExportService exportService;
     private final CardBusinessService cardBusinessService;
+    private final CachedUserDetailsService cachedUserDetailsService;
+    private final CardBalanceCache cardBalanceCache;
+    private final ConcurrencyRetryAspect concurrencyRetryAspect;
 
     /**
      * Создаёт новую карту для указанного пользователя.
@@ -136,6 +157,88 @@ public class AdminController {
         return ResponseEntity.ok(cardService.getAllCardsPaginated(PageRequest.of(page, size)));
     }
 
+    /**
+     * Возвращает страницу всех карт с keyset-пагинацией по идентификатору.
+     * <p>
+     * В отличие от {@code /cards} не использует {@code OFFSET} и не считает общее количество карт,
+     * поэтому время ответа не растёт с номером страницы.
+     *
+     * @param after курсор из поля {@code nextCursor} предыдущей страницы {@link String}
+     * @param limit количество записей на странице (от 1 до 1000) {@link Integer}
+     * @return ResponseEntity<CursorPageDto<CardDto>> со страницей карт и курсором следующей страницы {@link CursorPageDto}
+     */
+    @Operation(summary = "Получить все карты по курсору",
+            description = "Возвращает страницу карт в порядке возрастания ID и курсор следующей страницы без подсчёта общего количества.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница карт",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректный курсор или размер страницы"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/cards/cursor")
+    public ResponseEntity<CursorPageDto<CardDto>> getAllCardsByCursor(
+            @Parameter(description = "Курсор следующей страницы; не указывается для первой страницы", example = "MTA1")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Количество записей на странице", example = "10")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int limit
+    ) {
+        return ResponseEntity.ok(cardService.getAllCardsAfter(after, limit));
+    }
+
+    /**
+     * Выгружает все карты в формате NDJSON или CSV.
+     * <p>
+     * Данные пишутся в ответ по мере чтения из базы данных, без загрузки всей таблицы в память.
+     *
+     * @param format   формат выгрузки {@link ExportFormatEnum}
+     * @param response HTTP-ответ, в который записывается выгрузка {@link HttpServletResponse}
+     * @throws IOException если запись в ответ не удалась
+     */
+    @Operation(summary = "Выгрузить все карты", description = "Потоково выгружает все карты в формате NDJSON или CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка карт",
+                    content = {@Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CardExportDto.class)),
+                            @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Неизвестный формат выгрузки"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/export/cards")
+    public void exportCards(
+            @Parameter(description = "Формат выгрузки", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormatEnum format,
+            HttpServletResponse response
+    ) throws IOException {
+        prepareExportResponse(response, format, "cards");
+        exportService.exportCards(format, response.getOutputStream());
+    }
+
+    /**
+     * Выгружает все переводы средств в формате NDJSON или CSV.
+     * <p>
+     * Данные пишутся в ответ по мере чтения из базы данных, без загрузки всей таблицы в память.
+     *
+     * @param format   формат выгрузки {@link ExportFormatEnum}
+     * @param response HTTP-ответ, в который записывается выгрузка {@link HttpServletResponse}
+     * @throws IOException если запись в ответ не удалась
+     */
+    @Operation(summary = "Выгрузить все переводы", description = "Потоково выгружает все переводы средств в формате NDJSON или CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка переводов",
+                    content = {@Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = CardTransferExportDto.class)),
+                            @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Неизвестный формат выгрузки"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/export/transfers")
+    public void exportTransfers(
+            @Parameter(description = "Формат выгрузки", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") ExportFormatEnum format,
+            HttpServletResponse response
+    ) throws IOException {
+        prepareExportResponse(response, format, "transfers");
+        exportService.exportTransfers(format, response.getOutputStream());
+    }
+
     /**
      * Создаёт нового пользователя.
      *
@@ -228,4 +331,64 @@ public class AdminController {
     public ResponseEntity<List<UserDto>> getAllUser() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
+
+    /**
+     * Возвращает статистику кэша пользователей, используемого при аутентификации.
+     *
+     * @return ResponseEntity<CacheStatsDto> со статистикой кэша {@link CacheStatsDto}
+     */
+    @Operation(summary = "Статистика кэша пользователей",
+            description = "Возвращает количество попаданий, промахов и вытеснений кэша пользователей.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статистика кэша",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatsDto.class))}),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/cache/users")
+    public ResponseEntity<CacheStatsDto> getUserCacheStats() {
+        return ResponseEntity.ok(cachedUserDetailsService.getStats());
+    }
+
+    /**
+     * Возвращает статистику кэша балансов карт.
+     *
+     * @return ResponseEntity<CacheStatsDto> со статистикой кэша {@link CacheStatsDto}
+     */
+    @Operation(summary = "Статистика кэша балансов",
+            description = "Возвращает количество попаданий, промахов и сбросов кэша балансов карт.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статистика кэша",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatsDto.class))}),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/cache/balances")
+    public ResponseEntity<CacheStatsDto> getBalanceCacheStats() {
+        return ResponseEntity.ok(cardBalanceCache.getStats());
+    }
+
+    /**
+     * Возвращает статистику повторов методов при сбоях конкурентного доступа.
+     *
+     * @return ResponseEntity<List<RetryStatsDto>> со статистикой по каждому методу {@link RetryStatsDto}
+     */
+    @Operation(summary = "Статистика повторов",
+            description = "Возвращает количество попыток, повторов и отказов для методов, повторяемых при сбоях конкурентного доступа.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Статистика повторов",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = List.class))}),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/retry/stats")
+    public ResponseEntity<List<RetryStatsDto>> getRetryStats() {
+        return ResponseEntity.ok(concurrencyRetryAspect.getStats());
+    }
+
+    private void prepareExportResponse(HttpServletResponse response, ExportFormatEnum format, String name) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getFileExtension())
+                .build()
+                .toString());
+    }
 }
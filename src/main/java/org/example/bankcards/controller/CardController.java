@@ -7,15 +7,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.example.bankcards.dto.CardDto;
 import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.dto.CardTransferBatchDto;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
 import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.example.bankcards.dto.UserRequestDto;
 import org.example.bankcards.service.CardBusinessService;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.IdempotencyService;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +43,7 @@ public class CardController {
 
     private final CardService cardService;
     private final CardBusinessService cardBusinessService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Возвращает список всех карт, принадлежащих текущему авторизованному пользователю,
@@ -68,8 +80,12 @@ public class CardController {
 
     /**
      * Выполняет перевод средств с одной карты на другую.
+     * <p>
+     * Если передан заголовок {@code Idempotency-Key}, повторный запрос с тем же ключом
+     * возвращает результат первого перевода и не выполняет перевод повторно.
      *
      * @param cardTransferDto объект, содержащий данные перевода {@link CardTransferDto}
+     * @param idempotencyKey  ключ идемпотентности из заголовка {@code Idempotency-Key} {@link String}
      * @param principal       объект Principal, содержащий имя авторизованного пользователя {@link Principal}
      * @return ResponseEntity<CardTransferDto> — информация о выполненном переводе {@link CardTransferDto}
      */
@@ -83,14 +99,84 @@ public class CardController {
             @ApiResponse(responseCode = "400", description = "Некорректные данные перевода"),
             @ApiResponse(responseCode = "401", description = "Неавторизованный доступ"),
             @ApiResponse(responseCode = "404", description = "Карта не найдена"),
+            @ApiResponse(responseCode = "409", description = "Ключ идемпотентности использован для другого перевода"),
             @ApiResponse(responseCode = "500", description = "Ошибка сервера")
     })
     @PostMapping
     public ResponseEntity<CardTransferDto> transfer(
             @Valid @RequestBody CardTransferDto cardTransferDto,
+            @Parameter(description = "Ключ идемпотентности перевода", example = "7f1c2a9e-3b4d-4c5e-8f60-1a2b3c4d5e6f")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Principal principal
     ) {
-        return ResponseEntity.ok(cardBusinessService.transfer(cardTransferDto, principal.getName()));
+        return ResponseEntity.ok(idempotencyKey == null
+                ? cardBusinessService.transfer(cardTransferDto, principal.getName())
+                : idempotencyService.transfer(idempotencyKey, cardTransferDto, principal.getName()));
+    }
+
+    /**
+     * Выполняет пакет переводов между картами текущего пользователя в одной транзакции.
+     *
+     * @param cardTransferBatchDto объект, содержащий список переводов {@link CardTransferBatchDto}
+     * @param principal            объект Principal, содержащий имя авторизованного пользователя {@link Principal}
+     * @return ResponseEntity<CardTransferBatchResultDto> — результат каждого перевода {@link CardTransferBatchResultDto}
+     */
+    @Operation(
+            summary = "Пакетный перевод средств",
+            description = "Выполняет переводы по порядку в одной транзакции. Перевод, не прошедший проверки, "
+                    + "отклоняется и не влияет на остальные переводы пакета."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CardTransferBatchResultDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректные данные пакета"),
+            @ApiResponse(responseCode = "401", description = "Неавторизованный доступ"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<CardTransferBatchResultDto> transferBatch(
+            @Valid @RequestBody CardTransferBatchDto cardTransferBatchDto,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(
+                cardBusinessService.transferBatch(cardTransferBatchDto.getTransfers(), principal.getName())
+        );
+    }
+
+    /**
+     * Возвращает историю переводов текущего пользователя от новых к старым.
+     * <p>
+     * Использует keyset-пагинацию: следующая страница запрашивается по курсору {@code nextCursor}
+     * из предыдущего ответа, общее количество переводов не вычисляется.
+     *
+     * @param filter    фильтр по периоду и номеру карты {@link CardTransferHistoryFilterDto}
+     * @param after     курсор из поля {@code nextCursor} предыдущей страницы {@link String}
+     * @param limit     количество записей на странице (от 1 до 1000) {@link Integer}
+     * @param principal информация о текущем авторизованном пользователе {@link Principal}
+     * @return ResponseEntity<CursorPageDto<CardTransferHistoryDto>> — страница истории переводов {@link CursorPageDto}
+     */
+    @Operation(
+            summary = "Получить историю переводов",
+            description = "Возвращает переводы текущего пользователя от новых к старым с фильтрацией по периоду "
+                    + "и номеру карты. Следующая страница запрашивается по курсору nextCursor."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Страница истории переводов",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDto.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректный фильтр, курсор или размер страницы"),
+            @ApiResponse(responseCode = "401", description = "Неавторизованный доступ"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @GetMapping("/transfers")
+    public ResponseEntity<CursorPageDto<CardTransferHistoryDto>> getTransferHistory(
+            @Valid @ParameterObject CardTransferHistoryFilterDto filter,
+            @Parameter(description = "Курсор следующей страницы; не указывается для первой страницы")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Количество записей на странице", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(1000) int limit,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(cardBusinessService.getTransferHistory(filter, after, limit, principal.getName()));
     }
 
     /**
@@ -179,7 +265,47 @@ public class CardController {
         return ResponseEntity.ok(cardService.getUserCardsFiltredPaged(
                 cardFilterDto,
                 principal.getName(),
-                PageRequest.of(page, size)
+                PageRequest.of(page, size, Sort.by("id"))
+        ));
+    }
+
+    /**
+     * Обрабатывает POST-запрос для получения среза карт пользователя с фильтрацией без подсчёта общего количества.
+     * <p>
+     * В отличие от {@code /filter} не выполняет запрос {@code COUNT(*)}: вместо общего количества записей
+     * и страниц ответ содержит только признак наличия следующей страницы.
+     *
+     * @param cardFilterDto объект с критериями фильтрации (например, статус карты, диапазон баланса и т.д.) {@link CardFilterDto}
+     * @param page          номер страницы (начинается с 0) {@link Integer}
+     * @param size          количество записей на странице {@link Integer}
+     * @param principal     информация о текущем авторизованном пользователе {@link Principal}
+     * @return ResponseEntity<Slice < CardDto>> — срез с отфильтрованными картами пользователя {@link Slice<CardDto>}
+     */
+    @Operation(
+            summary = "Получить карты пользователя по параметрам без подсчёта общего количества",
+            description = "Возвращает срез карт текущего авторизованного пользователя по параметрам карты. "
+                    + "Общее количество записей не вычисляется, поле last показывает, есть ли следующая страница."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Срез списка карт",
+                    content = {@Content(mediaType = "application/json", schema = @Schema(implementation = List.class))}),
+            @ApiResponse(responseCode = "400", description = "Некорректные параметры фильтра"),
+            @ApiResponse(responseCode = "401", description = "Неавторизованный доступ"),
+            @ApiResponse(responseCode = "500", description = "Ошибка сервера")
+    })
+    @PostMapping("/filter/slice")
+    public ResponseEntity<Slice<CardDto>> getUserCardsFiltredSlice(
+            @Valid @RequestBody CardFilterDto cardFilterDto,
+            @Parameter(description = "Номер страницы", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Количество записей на странице", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            Principal principal
+    ) {
+        return ResponseEntity.ok(cardService.getUserCardsFiltredSlice(
+                cardFilterDto,
+                principal.getName(),
+                PageRequest.of(page, size, Sort.by("id"))
         ));
     }
 }
@@ -0,0 +1,43 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * DTO для представления статистики локального кэша.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Статистика кэша")
+public class CacheStatsDto {
+
+    @Schema(description = "Количество попаданий", example = "1500")
+    long hitCount;
+
+    @Schema(description = "Количество промахов", example = "25")
+    long missCount;
+
+    @Schema(description = "Доля попаданий", example = "0.98")
+    double hitRate;
+
+    @Schema(description = "Количество вытеснений по размеру или сроку жизни", example = "3")
+    long evictionCount;
+
+    @Schema(description = "Количество явных сбросов записей", example = "2")
+    long invalidationCount;
+
+    @Schema(description = "Текущее количество записей", example = "120")
+    long size;
+}
@@ -0,0 +1,51 @@
+package org.example.bankcards.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.example.bankcards.enums.CardStatusEnum;
+
+import java.math.BigInteger;
+import java.time.YearMonth;
+
+/**
+ * DTO для выгрузки банковской карты.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonPropertyOrder({"id", "userId", "cardNumber", "status", "balance", "expiryDate"})
+@Schema(description = "Банковская карта в выгрузке")
+public class CardExportDto {
+
+    @Schema(description = "ID карты", example = "1")
+    Long id;
+
+    @Schema(description = "ID владельца карты", example = "1")
+    Long userId;
+
+    @Schema(description = "Номер карты", example = "1234567812345678")
+    String cardNumber;
+
+    @Schema(description = "Статус карты", example = "ACTIVE")
+    CardStatusEnum status;
+
+    @Schema(description = "Баланс карты", example = "10000")
+    BigInteger balance;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+    @Schema(description = "Срок действия карты (ГГГГ-ММ)", example = "2025-12")
+    YearMonth expiryDate;
+}
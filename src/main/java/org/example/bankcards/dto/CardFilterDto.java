@@ -1,13 +1,19 @@
 package org.example.bankcards.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.example.bankcards.enums.CardStatusEnum;
 
 import java.math.BigInteger;
+import java.time.YearMonth;
 
 /**
  * DTO для поиска карт по параметрам банковской карты.
+ * <p>
+ * Все поля необязательные: в условие поиска попадают только заполненные.
+ * Границы диапазонов баланса и срока действия включаются в результат.
  */
 @Getter
 @Setter
@@ -23,11 +29,26 @@ public class CardFilterDto {
     String cardNumber;
 
     @Schema(description = "Статус карты", example = "ACTIVE")
-    String status;
+    CardStatusEnum status;
 
     @Schema(description = "Баланс карты", example = "10000")
     BigInteger balance;
 
+    @Schema(description = "Минимальный баланс карты", example = "1000")
+    BigInteger balanceFrom;
+
+    @Schema(description = "Максимальный баланс карты", example = "50000")
+    BigInteger balanceTo;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
     @Schema(description = "Срок действия карты (ГГГГ-ММ)", example = "2025-12")
-    String expiryDate;
+    YearMonth expiryDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+    @Schema(description = "Срок действия карты не раньше (ГГГГ-ММ)", example = "2025-01")
+    YearMonth expiryDateFrom;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+    @Schema(description = "Срок действия карты не позже (ГГГГ-ММ)", example = "2027-12")
+    YearMonth expiryDateTo;
 }
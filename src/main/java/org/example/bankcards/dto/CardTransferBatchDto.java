@@ -0,0 +1,37 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * DTO для передачи пакета переводов средств между картами.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Пакет переводов денежных средств между картами")
+public class CardTransferBatchDto {
+
+    @Valid
+    @NotEmpty(message = "Пакет должен содержать хотя бы один перевод")
+    @Size(max = 1000, message = "Пакет может содержать не более 1000 переводов")
+    @ArraySchema(schema = @Schema(implementation = CardTransferDto.class), maxItems = 1000)
+    List<CardTransferDto> transfers;
+}
@@ -0,0 +1,38 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.example.bankcards.enums.TransferStatusEnum;
+
+/**
+ * DTO для представления результата одного перевода из пакета.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Результат перевода из пакета")
+public class CardTransferBatchItemDto {
+
+    @Schema(description = "Порядковый номер перевода в пакете (начиная с 0)", example = "0")
+    int index;
+
+    @Schema(description = "Результат перевода", example = "COMPLETED")
+    TransferStatusEnum status;
+
+    @Schema(description = "Перевод")
+    CardTransferDto transfer;
+
+    @Schema(description = "Причина отклонения перевода", example = "Отрицательный баланс после операции")
+    String errorMessage;
+}
@@ -0,0 +1,36 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * DTO для представления результата пакетного перевода.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Результат пакетного перевода")
+public class CardTransferBatchResultDto {
+
+    @Schema(description = "Количество выполненных переводов", example = "998")
+    int completed;
+
+    @Schema(description = "Количество отклонённых переводов", example = "2")
+    int rejected;
+
+    @Schema(description = "Результаты переводов в порядке их следования в пакете")
+    List<CardTransferBatchItemDto> items;
+}
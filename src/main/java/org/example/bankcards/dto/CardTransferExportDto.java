@@ -0,0 +1,48 @@
+package org.example.bankcards.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+
+/**
+ * DTO для выгрузки перевода средств между картами.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonPropertyOrder({"id", "userId", "cardNumberFrom", "cardNumberTo", "amount", "transferTime"})
+@Schema(description = "Перевод средств в выгрузке")
+public class CardTransferExportDto {
+
+    @Schema(description = "ID перевода", example = "1")
+    Long id;
+
+    @Schema(description = "ID пользователя, выполнившего перевод", example = "1")
+    Long userId;
+
+    @Schema(description = "Номер карты отправителя", example = "8765432187654321")
+    String cardNumberFrom;
+
+    @Schema(description = "Номер карты получателя", example = "1234567812345678")
+    String cardNumberTo;
+
+    @Schema(description = "Сумма перевода", example = "15000")
+    BigInteger amount;
+
+    @Schema(description = "Время перевода", example = "2025-07-01T12:00:00")
+    LocalDateTime transferTime;
+}
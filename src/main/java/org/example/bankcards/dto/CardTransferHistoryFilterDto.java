@@ -0,0 +1,43 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO для фильтрации истории переводов.
+ * <p>
+ * Все поля необязательные: в условие поиска попадают только заполненные.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Фильтр истории переводов")
+public class CardTransferHistoryFilterDto {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Начало периода (включительно)", example = "2025-07-01T00:00:00")
+    LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Конец периода (не включительно)", example = "2025-08-01T00:00:00")
+    LocalDateTime to;
+
+    @Pattern(regexp = "^[0-9]{16}$", message = "Номер карты должен содержать ровно 16 цифр")
+    @Schema(description = "Номер карты отправителя или получателя", example = "1234567812345678")
+    String cardNumber;
+}
@@ -0,0 +1,40 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * DTO для страницы keyset-пагинации.
+ * <p>
+ * Общее количество записей не вычисляется: следующая страница запрашивается по курсору {@code nextCursor}.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Страница с курсором на следующую страницу")
+public class CursorPageDto<T> {
+
+    @Schema(description = "Элементы страницы")
+    List<T> content;
+
+    @Schema(description = "Курсор следующей страницы; отсутствует, если страница последняя", example = "MTA1")
+    String nextCursor;
+
+    @Schema(description = "Есть ли следующая страница", example = "true")
+    boolean hasNext;
+}
@@ -0,0 +1,43 @@
+package org.example.bankcards.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * DTO для представления статистики повторов метода при сбоях конкурентного доступа.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Schema(description = "Статистика повторов метода")
+public class RetryStatsDto {
+
+    @Schema(description = "Метод", example = "CardBusinessServiceImpl.transfer")
+    String method;
+
+    @Schema(description = "Количество попыток, включая первые", example = "1520")
+    long attempts;
+
+    @Schema(description = "Количество повторов", example = "20")
+    long retries;
+
+    @Schema(description = "Количество вызовов, завершившихся ошибкой после всех повторов", example = "1")
+    long giveUps;
+
+    @Schema(description = "Количество повторов, отменённых из-за исчерпания бюджета", example = "0")
+    long budgetExhausted;
+
+    @Schema(description = "Оставшийся бюджет повторов", example = "18.5")
+    double budgetTokens;
+}
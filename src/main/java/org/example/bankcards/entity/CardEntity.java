@@ -4,11 +4,13 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -16,14 +18,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.Hibernate;
 import org.example.bankcards.enums.CardStatusEnum;
 
 import java.math.BigInteger;
 import java.time.YearMonth;
-import java.util.Objects;
 
 /**
  * Сущность, представляющая банковскую карту в системе.
+ * <p>
+ * Владелец карты загружается лениво. Равенство карт определяется только идентификатором,
+ * поэтому сравнение и хэширование не обращаются к владельцу и его коллекциям.
  */
 @Entity
 @Setter
@@ -35,11 +40,12 @@ import java.util.Objects;
 public class CardEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_seq")
+    @SequenceGenerator(name = "card_seq", sequenceName = "card_seq", schema = "bankcards", allocationSize = 50)
     @Column(name = "id", nullable = false)
     Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     UserEntity user;
 
@@ -58,20 +64,18 @@ public class CardEntity {
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
             return false;
         }
         CardEntity that = (CardEntity) o;
-        return Objects.equals(id, that.id)
-                && Objects.equals(user, that.user)
-                && Objects.equals(cardNumber, that.cardNumber)
-                && Objects.equals(status, that.status)
-                && Objects.equals(balance, that.balance)
-                && Objects.equals(expiryDate, that.expiryDate);
+        return id != null && id.equals(that.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, user, cardNumber, status, balance, expiryDate);
+        return Hibernate.getClass(this).hashCode();
     }
 }
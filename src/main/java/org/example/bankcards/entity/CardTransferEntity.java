@@ -2,11 +2,13 @@ package org.example.bankcards.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -15,10 +17,10 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.Hibernate;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
-import java.util.Objects;
 
 /**
  * Сущность, представляющая перевод денежных средств между картами.
@@ -34,11 +36,12 @@ import java.util.Objects;
 public class CardTransferEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_transfer_seq")
+    @SequenceGenerator(name = "card_transfer_seq", sequenceName = "card_transfer_seq", schema = "bankcards", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     UserEntity user;
 
@@ -56,17 +59,18 @@ public class CardTransferEntity {
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
         CardTransferEntity that = (CardTransferEntity) o;
-        return Objects.equals(id, that.id)
-                && Objects.equals(cardNumberTo, that.cardNumberTo)
-                && Objects.equals(cardNumberFrom, that.cardNumberFrom)
-                && Objects.equals(transferTime, that.transferTime)
-                && Objects.equals(amount, that.amount);
+        return id != null && id.equals(that.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, cardNumberTo, cardNumberFrom, transferTime, amount);
+        return Hibernate.getClass(this).hashCode();
     }
 }
@@ -0,0 +1,79 @@
+package org.example.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сущность, представляющая ключ идемпотентности перевода.
+ * <p>
+ * Хранит хэш исходного запроса и ссылку на выполненный перевод, чтобы повторный запрос
+ * с тем же ключом возвращал сохранённый результат.
+ */
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "idempotency_key", schema = "bankcards")
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_key_seq")
+    @SequenceGenerator(name = "idempotency_key_seq", sequenceName = "idempotency_key_seq", schema = "bankcards", allocationSize = 50)
+    @Column(name = "id")
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    UserEntity user;
+
+    @Column(name = "idempotency_key")
+    String idempotencyKey;
+
+    @Column(name = "request_hash")
+    String requestHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_transfer_id")
+    CardTransferEntity cardTransfer;
+
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        IdempotencyKeyEntity that = (IdempotencyKeyEntity) o;
+        return id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
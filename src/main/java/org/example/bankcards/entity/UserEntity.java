@@ -7,6 +7,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -15,6 +16,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.Hibernate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,7 +24,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Сущность, представляющая пользователя в системе.
@@ -40,7 +41,8 @@ import java.util.Objects;
 public class UserEntity implements UserDetails, GrantedAuthority {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", schema = "bankcards", allocationSize = 50)
     @Column(name = "id")
     Long id;
 
@@ -56,6 +58,13 @@ public class UserEntity implements UserDetails, GrantedAuthority {
     @Column(name = "role")
     String role;
 
+    /**
+     * Версия токенов пользователя. Увеличивается при изменении пользователя
+     * и отзывает все ранее выданные JWT-токены.
+     */
+    @Column(name = "token_version", nullable = false)
+    int tokenVersion;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     List<CardTransferEntity> cardTransfers;
 
@@ -64,21 +73,19 @@ public class UserEntity implements UserDetails, GrantedAuthority {
 
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
             return false;
         }
         UserEntity that = (UserEntity) o;
-        return Objects.equals(id, that.id)
-                && Objects.equals(name, that.name)
-                && Objects.equals(email, that.email)
-                && Objects.equals(password, that.password)
-                && Objects.equals(cards, that.cards)
-                && Objects.equals(role, that.role);
+        return id != null && id.equals(that.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name, email, password, cards, role);
+        return Hibernate.getClass(this).hashCode();
     }
 
 
@@ -0,0 +1,28 @@
+package org.example.bankcards.enums;
+
+/**
+ * Перечисление определяет формат выгрузки данных.
+ * <p>
+ * - {@code NDJSON}: по одному JSON-объекту на строку;
+ * - {@code CSV}: строка заголовков и по одной строке на запись.
+ */
+public enum ExportFormatEnum {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormatEnum(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
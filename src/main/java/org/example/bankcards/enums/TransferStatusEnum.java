@@ -0,0 +1,12 @@
+package org.example.bankcards.enums;
+
+/**
+ * Перечисление определяет результат выполнения перевода в составе пакета.
+ * <p>
+ * - {@code COMPLETED}: перевод выполнен;
+ * - {@code REJECTED}: перевод отклонён, балансы карт не изменены.
+ */
+public enum TransferStatusEnum {
+    COMPLETED,
+    REJECTED
+}
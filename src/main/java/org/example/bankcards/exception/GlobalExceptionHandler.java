@@ -4,14 +4,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.bankcards.dto.GlobalExceptionResponseDto;
 import org.example.bankcards.enums.CardStatusEnum;
 import org.example.bankcards.exception.custom_exceptions.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +30,12 @@ import java.util.stream.Collectors;
 @RestControllerAdvice(basePackages = "org.example.bankcards.controller")
 public class GlobalExceptionHandler {
 
+    @Value("${retry.concurrency.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${security.password.hashing.retry-after:1s}")
+    private Duration passwordHashingRetryAfter;
+
     /**
      * Обрабатывает исключение {@link RuntimeException}.
      * <p>
@@ -174,6 +185,36 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Обрабатывает исключение {@link HandlerMethodValidationException}.
+     * <p>
+     * Возникает при нарушении ограничений на параметры запроса (например, размер страницы или поля фильтра).
+     * Собирает все ошибки валидации и возвращает их в виде одного сообщения.
+     * Возвращает HTTP-код 400 (BAD_REQUEST).
+     *
+     * @param ex исключение, которое произошло {@link HandlerMethodValidationException}
+     * @return ответ в виде {@link ResponseEntity} с объектом {@link GlobalExceptionResponseDto}
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<GlobalExceptionResponseDto> handleMethodValidationExceptions(
+            HandlerMethodValidationException ex) {
+        log.error(ex.getMessage(), ex);
+
+        List<String> errors = new ArrayList<>();
+
+        ex.getAllValidationResults().forEach(result ->
+                result.getResolvableErrors().forEach(error -> errors.add(error.getDefaultMessage()))
+        );
+
+        return new ResponseEntity<>(
+                GlobalExceptionResponseDto.builder()
+                        .errorMessage(errors.toString())
+                        .errorTime(LocalDateTime.now())
+                        .build(),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
     /**
      * Обрабатывает исключение {@link DataIntegrityViolationException}.
      * <p>
@@ -198,6 +239,88 @@ public class GlobalExceptionHandler {
         );
     }
 
+    /**
+     * Обрабатывает исключение {@link IdempotencyKeyConflictException}.
+     * <p>
+     * Возвращает HTTP-код 409 (CONFLICT) и сообщение об ошибке.
+     *
+     * @param ex исключение, которое произошло {@link IdempotencyKeyConflictException}
+     * @return ответ в виде {@link ResponseEntity} с объектом {@link GlobalExceptionResponseDto}
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<GlobalExceptionResponseDto> handleIdempotencyKeyConflict(IdempotencyKeyConflictException ex) {
+        log.error(ex.getMessage(), ex);
+
+        return new ResponseEntity<>(
+                GlobalExceptionResponseDto.builder()
+                        .errorMessage(ex.getMessage())
+                        .errorTime(LocalDateTime.now())
+                        .build(),
+                HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Обрабатывает исключение {@link InvalidCursorException}.
+     * <p>
+     * Возвращает HTTP-код 400 (BAD_REQUEST) и сообщение об ошибке.
+     *
+     * @param ex исключение, которое произошло {@link InvalidCursorException}
+     * @return ответ в виде {@link ResponseEntity} с объектом {@link GlobalExceptionResponseDto}
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<GlobalExceptionResponseDto> handleInvalidCursor(InvalidCursorException ex) {
+        log.error(ex.getMessage(), ex);
+
+        return new ResponseEntity<>(
+                GlobalExceptionResponseDto.builder()
+                        .errorMessage(ex.getMessage())
+                        .errorTime(LocalDateTime.now())
+                        .build(),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Обрабатывает исключения {@link ConcurrentUpdateException} и {@link ConcurrencyFailureException}.
+     * <p>
+     * Возвращает HTTP-код 503 (SERVICE_UNAVAILABLE) с заголовком {@code Retry-After},
+     * чтобы клиент повторил запрос не раньше указанного времени.
+     *
+     * @param ex исключение, которое произошло {@link RuntimeException}
+     * @return ответ в виде {@link ResponseEntity} с объектом {@link GlobalExceptionResponseDto}
+     */
+    @ExceptionHandler({ConcurrentUpdateException.class, ConcurrencyFailureException.class})
+    public ResponseEntity<GlobalExceptionResponseDto> handleConcurrentUpdate(RuntimeException ex) {
+        log.warn(ex.getMessage(), ex);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .body(GlobalExceptionResponseDto.builder()
+                        .errorMessage(ConcurrentUpdateException.MESSAGE)
+                        .errorTime(LocalDateTime.now())
+                        .build());
+    }
+
+    /**
+     * Обрабатывает исключение {@link PasswordHashingOverloadedException}.
+     * <p>
+     * Возвращает HTTP-код 429 (TOO_MANY_REQUESTS) с заголовком {@code Retry-After}:
+     * очередь проверки паролей заполнена, и запрос отклонён без ожидания.
+     *
+     * @param ex исключение, которое произошло {@link PasswordHashingOverloadedException}
+     * @return ответ в виде {@link ResponseEntity} с объектом {@link GlobalExceptionResponseDto}
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<GlobalExceptionResponseDto> handlePasswordHashingOverloaded(PasswordHashingOverloadedException ex) {
+        log.warn(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, passwordHashingRetryAfter.toSeconds())))
+                .body(GlobalExceptionResponseDto.builder()
+                        .errorMessage(ex.getMessage())
+                        .errorTime(LocalDateTime.now())
+                        .build());
+    }
+
     /**
      * Обрабатывает исключение {@link HttpMessageNotReadableException}.
      * <p>
@@ -0,0 +1,18 @@
+package org.example.bankcards.exception.custom_exceptions;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public static final String MESSAGE = "Операция не выполнена из-за конкурентного изменения данных, повторите запрос позже";
+
+    public ConcurrentUpdateException() {
+        super();
+    }
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public static ConcurrentUpdateException getConcurrentUpdateException(Throwable cause) {
+        return new ConcurrentUpdateException(MESSAGE, cause);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.bankcards.exception.custom_exceptions;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException() {
+        super();
+    }
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+
+    public static IdempotencyKeyConflictException getIdempotencyKeyConflictException() {
+        return new IdempotencyKeyConflictException("Ключ идемпотентности уже использован для другого запроса");
+    }
+}
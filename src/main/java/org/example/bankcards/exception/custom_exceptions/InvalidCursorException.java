@@ -0,0 +1,16 @@
+package org.example.bankcards.exception.custom_exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super();
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public static InvalidCursorException getInvalidCursorException() {
+        return new InvalidCursorException("Некорректный курсор пагинации");
+    }
+}
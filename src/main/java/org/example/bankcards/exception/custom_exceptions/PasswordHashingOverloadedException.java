@@ -0,0 +1,16 @@
+package org.example.bankcards.exception.custom_exceptions;
+
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    public PasswordHashingOverloadedException() {
+        super();
+    }
+
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+
+    public static PasswordHashingOverloadedException getPasswordHashingOverloadedException() {
+        return new PasswordHashingOverloadedException("Слишком много запросов на вход, повторите попытку позже");
+    }
+}
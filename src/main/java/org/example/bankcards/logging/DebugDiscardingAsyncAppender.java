@@ -0,0 +1,19 @@
+package org.example.bankcards.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Асинхронный appender, который при заполнении очереди отбрасывает только события уровня DEBUG и TRACE.
+ * <p>
+ * Стандартный {@link AsyncAppender} после достижения {@code discardingThreshold} отбрасывает и INFO.
+ * Здесь INFO и выше всегда попадают в очередь: при полной очереди поток, пишущий в журнал, ждёт.
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return !event.getLevel().isGreaterOrEqual(Level.INFO);
+    }
+}
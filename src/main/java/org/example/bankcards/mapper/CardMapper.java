@@ -1,6 +1,7 @@
 package org.example.bankcards.mapper;
 
 import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardExportDto;
 import org.example.bankcards.entity.CardEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -20,6 +21,15 @@ public interface CardMapper {
      */
     CardDto toDto(CardEntity card);
 
+    /**
+     * Преобразует сущность {@link CardEntity} в DTO-объект выгрузки {@link CardExportDto}.
+     *
+     * @param card сущность карты {@link CardEntity}
+     * @return DTO-объект карты для выгрузки {@link CardExportDto}
+     */
+    @Mapping(target = "userId", source = "user.id")
+    CardExportDto toExportDto(CardEntity card);
+
     /**
      * Преобразует DTO-объект {@link CardDto} в сущность {@link CardEntity}.
      * <p>
@@ -1,6 +1,7 @@
 package org.example.bankcards.mapper;
 
 import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.dto.CardTransferExportDto;
 import org.example.bankcards.entity.CardTransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -19,6 +20,15 @@ public interface CardTransferMapper {
      */
     CardTransferDto toDto(CardTransferEntity cardTransferEntity);
 
+    /**
+     * Преобразует сущность {@link CardTransferEntity} в DTO-объект выгрузки {@link CardTransferExportDto}.
+     *
+     * @param cardTransferEntity сущность перевода средств {@link CardTransferEntity}
+     * @return DTO-объект перевода для выгрузки {@link CardTransferExportDto}
+     */
+    @Mapping(target = "userId", source = "user.id")
+    CardTransferExportDto toExportDto(CardTransferEntity cardTransferEntity);
+
     /**
      * Преобразует DTO-объект {@link CardTransferDto} в сущность {@link CardTransferEntity}.
      * <p>
@@ -0,0 +1,25 @@
+package org.example.bankcards.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает метод, время выполнения которого записывается в таймер Micrometer с тегом {@code outcome}.
+ * <p>
+ * Таймер публикует гистограмму, поэтому перцентили задержки считаются на стороне Prometheus.
+ *
+ * @see OperationMetricsAspect
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MeasuredOperation {
+
+    /**
+     * Имя таймера, например {@code bankcards.transfer}.
+     */
+    String value();
+}
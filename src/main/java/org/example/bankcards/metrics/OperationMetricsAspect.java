@@ -0,0 +1,78 @@
+package org.example.bankcards.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.bankcards.exception.custom_exceptions.CardIsNotActiveException;
+import org.example.bankcards.exception.custom_exceptions.CardNotFoundException;
+import org.example.bankcards.exception.custom_exceptions.ConcurrentUpdateException;
+import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
+import org.example.bankcards.retry.ConcurrencyRetryAspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Аспект, записывающий время выполнения методов с {@link MeasuredOperation} и их результат.
+ * <p>
+ * Результат попадает в тег {@code outcome}: {@code ok}, {@code negative_balance}, {@code not_active},
+ * {@code not_found}, {@code serialization_failure} или {@code error}.
+ * <p>
+ * Аспект применяется раньше {@link ConcurrencyRetryAspect}, поэтому время включает все повторы,
+ * а результат соответствует тому, что получил клиент.
+ */
+@Aspect
+@Component
+@Order(OperationMetricsAspect.ORDER)
+@RequiredArgsConstructor
+public class OperationMetricsAspect {
+
+    /**
+     * Порядок аспекта: выше, чем у {@link ConcurrencyRetryAspect}.
+     */
+    public static final int ORDER = ConcurrencyRetryAspect.ORDER - 1;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(measuredOperation)")
+    public Object measure(ProceedingJoinPoint joinPoint, MeasuredOperation measuredOperation) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ok";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            outcome = outcome(ex);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(measuredOperation.value())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Определяет значение тега {@code outcome} по исключению.
+     *
+     * @param ex исключение, выброшенное методом
+     * @return значение тега
+     */
+    static String outcome(Throwable ex) {
+        if (ex instanceof NegativeBalanceException) {
+            return "negative_balance";
+        }
+        if (ex instanceof CardIsNotActiveException) {
+            return "not_active";
+        }
+        if (ex instanceof CardNotFoundException || ex instanceof UserNotFoundException) {
+            return "not_found";
+        }
+        if (ex instanceof ConcurrentUpdateException || ConcurrencyRetryAspect.isRetryable(ex)) {
+            return "serialization_failure";
+        }
+        return "error";
+    }
+}
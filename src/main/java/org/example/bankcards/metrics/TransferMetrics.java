@@ -0,0 +1,35 @@
+package org.example.bankcards.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.bankcards.util.TransactionUtils;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+
+/**
+ * Метрики сумм выполненных переводов ({@code bankcards.transfer.amount}).
+ * <p>
+ * Сумма записывается только после фиксации транзакции, поэтому откаты и повторы не искажают распределение.
+ */
+@Component
+public class TransferMetrics {
+
+    private final DistributionSummary amounts;
+
+    public TransferMetrics(MeterRegistry meterRegistry) {
+        this.amounts = DistributionSummary.builder("bankcards.transfer.amount")
+                .description("Суммы выполненных переводов")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Записывает сумму перевода после фиксации текущей транзакции.
+     *
+     * @param amount сумма перевода
+     */
+    public void recordCompleted(BigInteger amount) {
+        TransactionUtils.afterCommit(() -> amounts.record(amount.doubleValue()));
+    }
+}
@@ -1,76 +1,139 @@
 package org.example.bankcards.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.bankcards.dto.CardDto;
 import org.example.bankcards.entity.CardEntity;
-import org.example.bankcards.entity.UserEntity;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigInteger;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Интерфейс {@code CardRepository} предоставляет методы для взаимодействия с базой данных,
  * связанные с банковскими картами.
  */
-public interface CardRepository extends JpaRepository<CardEntity, Long> {
+public interface CardRepository extends JpaRepository<CardEntity, Long>, JpaSpecificationExecutor<CardEntity>,
+        CardRepositoryCustom {
 
     /**
-     * Находит карту по её идентификатору и имени пользователя (владельца).
+     * Возвращает только баланс карты по её идентификатору и имени владельца.
      *
      * @param id       идентификатор карты
      * @param userName имя пользователя (владельца карты)
-     * @return {@code Optional<CardEntity>} — опциональный объект, содержащий найденную карту или пустое значение
+     * @return {@code Optional<BigInteger>} — баланс карты или пустое значение, если карта не найдена
      */
-    Optional<CardEntity> findByIdAndUserName(Long id, String userName);
+    @Query("SELECT c.balance FROM CardEntity c WHERE c.id = :id AND c.user.name = :userName")
+    Optional<BigInteger> findBalanceByIdAndUserName(@Param("id") Long id, @Param("userName") String userName);
 
     /**
-     * Возвращает список всех карт, принадлежащих указанному пользователю, в виде страницы.
+     * Возвращает все карты пользователя с указанным именем одним запросом сразу в виде DTO.
+     * <p>
+     * Сущности не попадают в контекст персистентности, поэтому для них не создаются снимки состояния.
      *
-     * @param user     пользователь, чьи карты нужно получить
+     * @param userName имя пользователя (владельца карт)
+     * @return {@code List<CardDto>} — карты пользователя, упорядоченные по идентификатору
+     */
+    @Query("SELECT new org.example.bankcards.dto.CardDto(c.id, c.cardNumber, c.status, c.balance, c.expiryDate) "
+            + "FROM CardEntity c WHERE c.user.name = :userName ORDER BY c.id")
+    List<CardDto> findAllCardDtoByUserName(@Param("userName") String userName);
+
+    /**
+     * Возвращает список всех карт, принадлежащих указанному пользователю, в виде страницы DTO.
+     *
+     * @param userId   идентификатор пользователя, чьи карты нужно получить
      * @param pageable параметры пагинации (номер страницы, количество записей на странице)
-     * @return {@code Page<CardEntity>} — страница с картами пользователя
+     * @return {@code Page<CardDto>} — страница с картами пользователя
+     */
+    @Query(value = "SELECT new org.example.bankcards.dto.CardDto(c.id, c.cardNumber, c.status, c.balance, c.expiryDate) "
+            + "FROM CardEntity c WHERE c.user.id = :userId",
+            countQuery = "SELECT count(c) FROM CardEntity c WHERE c.user.id = :userId")
+    Page<CardDto> findAllCardDtoByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Находит карту по её идентификатору и имени владельца и блокирует её строку до конца транзакции
+     * ({@code SELECT ... FOR NO KEY UPDATE}).
+     * <p>
+     * Владелец ищется подзапросом, а не соединением, поэтому блокируется только строка карты.
+     *
+     * @param id       идентификатор карты
+     * @param userName имя пользователя (владельца карты)
+     * @return {@code Optional<CardEntity>} — найденная карта или пустое значение
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CardEntity c WHERE c.id = :id"
+            + " AND c.user.id = (SELECT u.id FROM UserEntity u WHERE u.name = :userName)")
+    Optional<CardEntity> findByIdAndUserNameForUpdate(@Param("id") Long id, @Param("userName") String userName);
+
+    /**
+     * Находит карты пользователя по номерам и блокирует их строки до конца транзакции
+     * ({@code SELECT ... FOR NO KEY UPDATE}).
+     * <p>
+     * {@code PESSIMISTIC_WRITE} в диалекте PostgreSQL Hibernate 6 даёт {@code FOR NO KEY UPDATE}: блокировка
+     * исключает параллельные изменения строки, но не мешает вставкам, ссылающимся на карту по внешнему ключу.
+     * <p>
+     * Строки блокируются в порядке возрастания номера карты, поэтому встречные переводы
+     * между одними и теми же картами не приводят к взаимной блокировке.
+     *
+     * @param userId      идентификатор владельца карт
+     * @param cardNumbers номера карт
+     * @return {@code List<CardEntity>} — найденные карты, упорядоченные по номеру
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CardEntity c WHERE c.user.id = :userId AND c.cardNumber IN :cardNumbers ORDER BY c.cardNumber")
+    List<CardEntity> findAllByUserIdAndCardNumberInForUpdate(@Param("userId") Long userId,
+                                                             @Param("cardNumbers") Collection<String> cardNumbers);
+
+    /**
+     * Возвращает страницу всех карт сразу в виде DTO.
+     *
+     * @param pageable параметры пагинации и сортировки
+     * @return {@code Page<CardDto>} — страница с картами
+     */
+    @Query(value = "SELECT new org.example.bankcards.dto.CardDto(c.id, c.cardNumber, c.status, c.balance, c.expiryDate) "
+            + "FROM CardEntity c",
+            countQuery = "SELECT count(c) FROM CardEntity c")
+    Page<CardDto> findAllCardDto(Pageable pageable);
+
+    /**
+     * Возвращает карты с идентификатором больше указанного в порядке возрастания идентификатора сразу в виде DTO.
+     * <p>
+     * Используется для keyset-пагинации: выборка идёт по первичному ключу без {@code OFFSET} и {@code COUNT(*)},
+     * поэтому время запроса не зависит от номера страницы.
+     *
+     * @param after идентификатор последней карты предыдущей страницы
+     * @param limit максимальное количество карт
+     * @return {@code List<CardDto>} — карты, упорядоченные по идентификатору
      */
-    Page<CardEntity> findAllByUser(UserEntity user, Pageable pageable);
+    @Query("SELECT new org.example.bankcards.dto.CardDto(c.id, c.cardNumber, c.status, c.balance, c.expiryDate) "
+            + "FROM CardEntity c WHERE c.id > :after ORDER BY c.id")
+    List<CardDto> findAllCardDtoAfterId(@Param("after") Long after, Limit limit);
 
     /**
-     * Выполняет фильтрацию карт по различным критериям: номеру карты, статусу, балансу, сроку действия и идентификатору пользователя.
+     * Возвращает поток всех карт в порядке возрастания идентификатора.
      * <p>
-     * Используется нативный SQL-запрос для гибкой фильтрации. Параметры, переданные как {@code null}, игнорируются в условии WHERE.
+     * Строки читаются из курсора JDBC порциями по 500 записей, поэтому поток нужно обрабатывать
+     * внутри транзакции и закрывать после использования. Владелец не загружается: для выгрузки
+     * достаточно его идентификатора из прокси.
      *
-     * @param cardNumber   номер карты (опционально)
-     * @param status       статус карты (опционально)
-     * @param balance      баланс карты (опционально)
-     * @param expiryDate   срок действия карты в формате "ГГГГ-ММ" (опционально)
-     * @param userId       идентификатор пользователя, чьи карты нужно получить
-     * @param pageable     параметры пагинации (номер страницы, количество записей на странице)
-     * @return {@code Page<CardEntity>} — страница с отфильтрованными картами
+     * @return {@code Stream<CardEntity>} — поток карт
      */
-    @Query(value = """
-            SELECT * FROM card
-            WHERE (:cardNumber IS NULL OR card_number = :cardNumber)
-              AND (:status IS NULL OR status = :status)
-              AND (:balance IS NULL OR balance = :balance)
-              AND (:expiryDate IS NULL OR expiry_date = :expiryDate)
-            AND user_id = :userId
-            """,
-            countQuery = """
-                    SELECT COUNT(*) FROM card
-                    WHERE (:cardNumber IS NULL OR card_number = :cardNumber)
-                      AND (:status IS NULL OR status = :status)
-                      AND (:balance IS NULL OR balance = :balance)
-                      AND (:expiryDate IS NULL OR expiry_date = :expiryDate)
-                    AND user_id = :userId
-                    """,
-            nativeQuery = true)
-    Page<CardEntity> findAllByCardNumberAndStatusAndBalanceAndExpiryDateAndUser(
-            @Param("cardNumber") String cardNumber,
-            @Param("status") String status,
-            @Param("balance") BigInteger balance,
-            @Param("expiryDate") String expiryDate,
-            @Param("userId") Long userId,
-            Pageable pageable
-    );
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CardEntity c ORDER BY c.id")
+    Stream<CardEntity> streamAll();
 }
@@ -0,0 +1,38 @@
+package org.example.bankcards.repository;
+
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.entity.CardEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Дополнительные методы {@link CardRepository}, реализованные через Criteria API.
+ * <p>
+ * Карты выбираются сразу в {@link CardDto}, без загрузки сущностей в контекст персистентности.
+ */
+public interface CardRepositoryCustom {
+
+    /**
+     * Возвращает страницу карт, удовлетворяющих условию.
+     * <p>
+     * Общее количество записей подсчитывается отдельным запросом, только если его нельзя определить по самой странице.
+     *
+     * @param specification условие поиска
+     * @param pageable      параметры пагинации и сортировки
+     * @return {@code Page<CardDto>} — страница с найденными картами
+     */
+    Page<CardDto> findCardDtoPage(Specification<CardEntity> specification, Pageable pageable);
+
+    /**
+     * Возвращает срез карт, удовлетворяющих условию, без подсчёта общего количества записей.
+     * <p>
+     * Запрашивается на одну запись больше размера страницы: по ней определяется наличие следующей страницы.
+     *
+     * @param specification условие поиска
+     * @param pageable      параметры пагинации и сортировки
+     * @return {@code Slice<CardDto>} — срез с найденными картами
+     */
+    Slice<CardDto> findCardDtoSlice(Specification<CardEntity> specification, Pageable pageable);
+}
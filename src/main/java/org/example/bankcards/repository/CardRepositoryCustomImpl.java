@@ -0,0 +1,72 @@
+package org.example.bankcards.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.entity.CardEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Реализация {@link CardRepositoryCustom} на основе Criteria API.
+ */
+class CardRepositoryCustomImpl implements CardRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<CardDto> findCardDtoPage(Specification<CardEntity> specification, Pageable pageable) {
+        List<CardDto> content = createDtoQuery(specification, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<CardDto> findCardDtoSlice(Specification<CardEntity> specification, Pageable pageable) {
+        List<CardDto> content = createDtoQuery(specification, pageable)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private TypedQuery<CardDto> createDtoQuery(Specification<CardEntity> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CardDto> query = cb.createQuery(CardDto.class);
+        Root<CardEntity> root = query.from(CardEntity.class);
+        query.select(cb.construct(CardDto.class,
+                        root.get("id"),
+                        root.get("cardNumber"),
+                        root.get("status"),
+                        root.get("balance"),
+                        root.get("expiryDate")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<CardEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<CardEntity> root = query.from(CardEntity.class);
+        query.select(cb.count(root))
+                .where(specification.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
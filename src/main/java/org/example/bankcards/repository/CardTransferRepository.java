@@ -1,12 +1,32 @@
 package org.example.bankcards.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.bankcards.entity.CardTransferEntity;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
 
 /**
  * Интерфейс {@code CardTransferRepository} предоставляет методы для работы с таблицей перевода средств в базе данных.
  */
-public interface CardTransferRepository extends JpaRepository<CardTransferEntity, Long> {
-}
-
+public interface CardTransferRepository extends JpaRepository<CardTransferEntity, Long>, CardTransferRepositoryCustom {
 
+    /**
+     * Возвращает поток всех переводов в порядке возрастания идентификатора.
+     * <p>
+     * Строки читаются из курсора JDBC порциями по 500 записей, поэтому поток нужно обрабатывать
+     * внутри транзакции и закрывать после использования. Пользователь не загружается: для выгрузки
+     * достаточно его идентификатора из прокси.
+     *
+     * @return {@code Stream<CardTransferEntity>} — поток переводов
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM CardTransferEntity t ORDER BY t.id")
+    Stream<CardTransferEntity> streamAll();
+}
@@ -0,0 +1,28 @@
+package org.example.bankcards.repository;
+
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Дополнительные методы {@link CardTransferRepository}, реализованные через Criteria API.
+ */
+public interface CardTransferRepositoryCustom {
+
+    /**
+     * Возвращает историю переводов пользователя от новых к старым с keyset-пагинацией по {@code (transfer_time, id)}.
+     * <p>
+     * Результат строится конструктором {@link CardTransferHistoryDto} прямо в запросе, сущности не загружаются.
+     *
+     * @param userId    идентификатор пользователя
+     * @param filter    критерии фильтрации {@link CardTransferHistoryFilterDto}
+     * @param afterTime время последнего перевода предыдущей страницы; {@code null} для первой страницы
+     * @param afterId   идентификатор последнего перевода предыдущей страницы; {@code null} для первой страницы
+     * @param limit     максимальное количество записей
+     * @return {@code List<CardTransferHistoryDto>} — переводы, упорядоченные по убыванию времени и идентификатора
+     */
+    List<CardTransferHistoryDto> findHistory(Long userId, CardTransferHistoryFilterDto filter,
+                                             LocalDateTime afterTime, Long afterId, int limit);
+}
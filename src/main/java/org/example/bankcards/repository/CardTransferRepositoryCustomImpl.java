@@ -0,0 +1,63 @@
+package org.example.bankcards.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.entity.CardTransferEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реализация {@link CardTransferRepositoryCustom} на основе Criteria API.
+ */
+class CardTransferRepositoryCustomImpl implements CardTransferRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CardTransferHistoryDto> findHistory(Long userId, CardTransferHistoryFilterDto filter,
+                                                    LocalDateTime afterTime, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CardTransferHistoryDto> query = cb.createQuery(CardTransferHistoryDto.class);
+        Root<CardTransferEntity> root = query.from(CardTransferEntity.class);
+        Path<LocalDateTime> transferTime = root.get("transferTime");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("user").get("id"), userId));
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(transferTime, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(transferTime, filter.getTo()));
+        }
+        if (filter.getCardNumber() != null) {
+            predicates.add(cb.or(
+                    cb.equal(root.get("cardNumberFrom"), filter.getCardNumber()),
+                    cb.equal(root.get("cardNumberTo"), filter.getCardNumber())));
+        }
+        if (afterTime != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(transferTime, afterTime),
+                    cb.and(cb.equal(transferTime, afterTime), cb.lessThan(id, afterId))));
+        }
+
+        query.select(cb.construct(CardTransferHistoryDto.class,
+                        id, root.get("cardNumberFrom"), root.get("cardNumberTo"), root.get("amount"), transferTime))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(transferTime), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.bankcards.repository;
+
+import org.example.bankcards.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Интерфейс {@code IdempotencyKeyRepository} предоставляет методы для работы с таблицей ключей идемпотентности.
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    /**
+     * Находит ключ идемпотентности пользователя вместе с выполненным переводом.
+     *
+     * @param userId         идентификатор пользователя
+     * @param idempotencyKey значение заголовка {@code Idempotency-Key}
+     * @return {@code Optional<IdempotencyKeyEntity>} — найденный ключ или пустое значение
+     */
+    @Query("SELECT k FROM IdempotencyKeyEntity k LEFT JOIN FETCH k.cardTransfer "
+            + "WHERE k.user.id = :userId AND k.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyKeyEntity> findByUserIdAndIdempotencyKey(@Param("userId") Long userId,
+                                                                 @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Удаляет ключи идемпотентности, созданные раньше указанного момента.
+     *
+     * @param threshold граница срока хранения ключей
+     * @return количество удалённых ключей
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :threshold")
+    int deleteAllByCreatedAtBefore(@Param("threshold") LocalDateTime threshold);
+}
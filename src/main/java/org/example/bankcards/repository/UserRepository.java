@@ -2,6 +2,9 @@ package org.example.bankcards.repository;
 
 import org.example.bankcards.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -17,4 +20,33 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
      * @return {@code Optional<UserEntity>} — опциональный объект, содержащий найденного пользователя или пустое значение
      */
     Optional<UserEntity> findUserByName(String name);
+
+    /**
+     * Возвращает идентификатор пользователя по его имени, не загружая сущность целиком.
+     *
+     * @param name имя пользователя
+     * @return {@code Optional<Long>} — идентификатор пользователя или пустое значение, если пользователь не найден
+     */
+    @Query("SELECT u.id FROM UserEntity u WHERE u.name = :name")
+    Optional<Long> findIdByName(@Param("name") String name);
+
+    /**
+     * Возвращает текущую версию токенов пользователя, не загружая сущность целиком.
+     *
+     * @param name имя пользователя
+     * @return {@code Optional<Integer>} — версия токенов или пустое значение, если пользователь не найден
+     */
+    @Query("SELECT u.tokenVersion FROM UserEntity u WHERE u.name = :name")
+    Optional<Integer> findTokenVersionByName(@Param("name") String name);
+
+    /**
+     * Заменяет хэш пароля пользователя, не загружая сущность целиком.
+     *
+     * @param name     имя пользователя
+     * @param password новый хэш пароля
+     * @return количество изменённых записей
+     */
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.password = :password WHERE u.name = :name")
+    int updatePasswordByName(@Param("name") String name, @Param("password") String password);
 }
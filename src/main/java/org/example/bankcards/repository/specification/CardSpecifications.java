@@ -0,0 +1,61 @@
+package org.example.bankcards.repository.specification;
+
+import jakarta.persistence.criteria.Predicate;
+import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.entity.CardEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Класс {@code CardSpecifications} строит условия поиска банковских карт для {@link Specification}.
+ * <p>
+ * В запрос попадают только условия для заполненных полей фильтра, поэтому планировщик
+ * видит конкретные предикаты и может использовать подходящий индекс.
+ */
+public final class CardSpecifications {
+
+    private CardSpecifications() {
+    }
+
+    /**
+     * Формирует условие поиска карт пользователя по фильтру.
+     *
+     * @param userId идентификатор владельца карт
+     * @param filter критерии фильтрации {@link CardFilterDto}
+     * @return {@code Specification<CardEntity>} — условие поиска
+     */
+    public static Specification<CardEntity> byUserAndFilter(Long userId, CardFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+
+            if (filter.getCardNumber() != null) {
+                predicates.add(cb.equal(root.get("cardNumber"), filter.getCardNumber()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getBalance() != null) {
+                predicates.add(cb.equal(root.get("balance"), filter.getBalance()));
+            }
+            if (filter.getBalanceFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("balance"), filter.getBalanceFrom()));
+            }
+            if (filter.getBalanceTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("balance"), filter.getBalanceTo()));
+            }
+            if (filter.getExpiryDate() != null) {
+                predicates.add(cb.equal(root.get("expiryDate"), filter.getExpiryDate()));
+            }
+            if (filter.getExpiryDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expiryDate"), filter.getExpiryDateFrom()));
+            }
+            if (filter.getExpiryDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("expiryDate"), filter.getExpiryDateTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
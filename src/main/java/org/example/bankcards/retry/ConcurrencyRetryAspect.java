@@ -0,0 +1,218 @@
+package org.example.bankcards.retry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.bankcards.dto.RetryStatsDto;
+import org.example.bankcards.exception.custom_exceptions.ConcurrentUpdateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Аспект, повторяющий методы с {@link RetryOnConcurrencyFailure} при сбоях конкурентного доступа.
+ * <p>
+ * Между попытками выдерживается пауза со случайной величиной от нуля до экспоненциально растущего
+ * предела ({@code retry.concurrency.initial-backoff}, удваивается до {@code retry.concurrency.max-backoff}).
+ * Повторы каждого метода ограничены бюджетом {@link RetryBudget}, поэтому при массовых конфликтах
+ * приложение не умножает нагрузку на базу данных. Если попытки или бюджет исчерпаны, выбрасывается
+ * {@link ConcurrentUpdateException}.
+ * <p>
+ * Аспект применяется раньше транзакционного прокси, поэтому каждая попытка выполняется в новой транзакции.
+ * Счётчики попыток и повторов публикуются в реестре метрик с тегом {@code method}.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(ConcurrencyRetryAspect.ORDER)
+public class ConcurrencyRetryAspect implements MeterBinder {
+
+    /**
+     * Порядок аспекта: выше, чем у транзакционного прокси ({@link Ordered#LOWEST_PRECEDENCE}).
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01");
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final double budgetCapacity;
+    private final double budgetRatio;
+    private final Map<Method, MethodStats> stats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    public ConcurrencyRetryAspect(@Value("${retry.concurrency.max-attempts:4}") int maxAttempts,
+                                  @Value("${retry.concurrency.initial-backoff:20ms}") Duration initialBackoff,
+                                  @Value("${retry.concurrency.max-backoff:500ms}") Duration maxBackoff,
+                                  @Value("${retry.concurrency.budget-capacity:20}") double budgetCapacity,
+                                  @Value("${retry.concurrency.budget-ratio:0.1}") double budgetRatio) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.budgetCapacity = budgetCapacity;
+        this.budgetRatio = budgetRatio;
+    }
+
+    @Around("@annotation(org.example.bankcards.retry.RetryOnConcurrencyFailure)"
+            + " || @within(org.example.bankcards.retry.RetryOnConcurrencyFailure)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodStats methodStats = stats.computeIfAbsent(signature.getMethod(), this::createStats);
+        methodStats.budget.deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            methodStats.attempts.increment();
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable ex) {
+                if (!isRetryable(ex)) {
+                    throw ex;
+                }
+                if (attempt >= maxAttempts) {
+                    methodStats.giveUps.increment();
+                    log.warn("{}: сбой конкурентного доступа после {} попыток", methodStats.name, attempt);
+                    throw ConcurrentUpdateException.getConcurrentUpdateException(ex);
+                }
+                if (!methodStats.budget.tryWithdraw()) {
+                    methodStats.budgetExhausted.increment();
+                    methodStats.giveUps.increment();
+                    log.warn("{}: бюджет повторов исчерпан", methodStats.name);
+                    throw ConcurrentUpdateException.getConcurrentUpdateException(ex);
+                }
+                methodStats.retries.increment();
+                log.debug("{}: повтор {} после сбоя конкурентного доступа: {}", methodStats.name, attempt, ex.getMessage());
+                backoff(attempt, ex);
+            }
+        }
+    }
+
+    /**
+     * Возвращает статистику повторов по всем методам, которые вызывались хотя бы раз.
+     *
+     * @return список {@link RetryStatsDto}, отсортированный по имени метода
+     */
+    public List<RetryStatsDto> getStats() {
+        return stats.values().stream()
+                .map(MethodStats::toDto)
+                .sorted(Comparator.comparing(RetryStatsDto::getMethod))
+                .toList();
+    }
+
+    /**
+     * Публикует счётчики повторов уже вызванных методов; счётчики новых методов регистрируются при первом вызове.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        stats.values().forEach(methodStats -> register(registry, methodStats));
+    }
+
+    /**
+     * Проверяет, вызвано ли исключение сбоем конкурентного доступа, после которого имеет смысл повторить транзакцию.
+     *
+     * @param ex исключение
+     * @return true, если в цепочке причин есть {@link ConcurrencyFailureException}
+     * или {@link SQLException} с SQLState {@code 40001}/{@code 40P01}
+     */
+    public static boolean isRetryable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && sqlException.getSQLState() != null
+                    && RETRYABLE_SQL_STATES.contains(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MethodStats createStats(Method method) {
+        MethodStats methodStats = new MethodStats(
+                method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                new RetryBudget(budgetCapacity, budgetRatio));
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            register(registry, methodStats);
+        }
+        return methodStats;
+    }
+
+    private static void register(MeterRegistry registry, MethodStats methodStats) {
+        counter(registry, "bankcards.retry.attempts", methodStats, MethodStats::attempts);
+        counter(registry, "bankcards.retry.retries", methodStats, MethodStats::retries);
+        counter(registry, "bankcards.retry.give-ups", methodStats, MethodStats::giveUps);
+        counter(registry, "bankcards.retry.budget-exhausted", methodStats, MethodStats::budgetExhausted);
+    }
+
+    private static void counter(MeterRegistry registry, String name, MethodStats methodStats,
+                                Function<MethodStats, LongAdder> counter) {
+        FunctionCounter.builder(name, methodStats, value -> counter.apply(value).sum())
+                .tag("method", methodStats.name())
+                .register(registry);
+    }
+
+    private void backoff(int attempt, Throwable ex) throws Throwable {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    private record MethodStats(String name,
+                               RetryBudget budget,
+                               LongAdder attempts,
+                               LongAdder retries,
+                               LongAdder giveUps,
+                               LongAdder budgetExhausted) {
+
+        MethodStats(String name, RetryBudget budget) {
+            this(name, budget, new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder());
+        }
+
+        RetryStatsDto toDto() {
+            return RetryStatsDto.builder()
+                    .method(name)
+                    .attempts(attempts.sum())
+                    .retries(retries.sum())
+                    .giveUps(giveUps.sum())
+                    .budgetExhausted(budgetExhausted.sum())
+                    .budgetTokens(budget.getTokens())
+                    .build();
+        }
+    }
+}
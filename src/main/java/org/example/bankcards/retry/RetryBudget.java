@@ -0,0 +1,45 @@
+package org.example.bankcards.retry;
+
+/**
+ * Бюджет повторов метода по схеме «ведро токенов».
+ * <p>
+ * Каждый вызов метода добавляет в ведро {@code ratio} токена, каждый повтор забирает один токен.
+ * Таким образом, при длительной перегрузке доля повторов ограничена значением {@code ratio}
+ * от числа вызовов, а ёмкость ведра позволяет переживать кратковременные всплески конфликтов.
+ */
+class RetryBudget {
+
+    private final double capacity;
+    private final double ratio;
+    private double tokens;
+
+    RetryBudget(double capacity, double ratio) {
+        this.capacity = capacity;
+        this.ratio = ratio;
+        this.tokens = capacity;
+    }
+
+    /**
+     * Пополняет бюджет при очередном вызове метода.
+     */
+    synchronized void deposit() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    /**
+     * Забирает токен на один повтор.
+     *
+     * @return true, если бюджет позволяет выполнить повтор, иначе false
+     */
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    synchronized double getTokens() {
+        return tokens;
+    }
+}
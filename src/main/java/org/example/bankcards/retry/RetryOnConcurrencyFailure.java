@@ -0,0 +1,23 @@
+package org.example.bankcards.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает метод (или все методы класса), который повторяется при сбоях конкурентного доступа:
+ * ошибках сериализации ({@code 40001}), взаимных блокировках ({@code 40P01}) и других
+ * {@link org.springframework.dao.ConcurrencyFailureException}.
+ * <p>
+ * Повтор выполняется снаружи транзакции метода, поэтому каждая попытка открывает новую транзакцию.
+ * Если метод вызван внутри уже начатой транзакции, повтор не выполняется.
+ *
+ * @see ConcurrencyRetryAspect
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RetryOnConcurrencyFailure {
+}
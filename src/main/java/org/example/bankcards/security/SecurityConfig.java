@@ -1,7 +1,12 @@
 package org.example.bankcards.security;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.example.bankcards.security.jwt.JwtAuthenticationFilter;
+import org.example.bankcards.security.password.BoundedPasswordEncoder;
+import org.example.bankcards.security.service.PasswordUpgradeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -17,6 +22,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -31,60 +37,88 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 @RequiredArgsConstructor
 public class SecurityConfig implements WebMvcConfigurer {
 
+    private static final String MANAGEMENT_SERVER_NAMESPACE = "management";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    private final PasswordUpgradeService passwordUpgradeService;
 
     /**
      * Метод настройки цепочки фильтров безопасности.
      * <p>
      * Определяет, какие запросы требуют аутентификации, какая политика сессий применяется
      * и какие фильтры добавляются к цепочке обработки запроса.
+     * <p>
+     * {@code /actuator/prometheus} открыт только на внутреннем порту {@code management.server.port}:
+     * сборщику метрик не нужен JWT-токен, а на основном порту эндпоинт недоступен.
      *
-     * @param http объект HttpSecurity, с помощью которого настраиваются параметры безопасности
+     * @param http                   объект HttpSecurity, с помощью которого настраиваются параметры безопасности
+     * @param authenticationProvider провайдер аутентификации по имени и паролю
      * @return настроенная цепочка безопасности (SecurityFilterChain)
      * @throws Exception если произошла ошибка при настройке
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
+            throws Exception {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/auth/**", "/swagger-ui/**", "/swagger-resources/*", "/v3/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(SecurityConfig::isPrometheusScrape).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/admin/**", "api/cards/**").hasRole("ADMIN")
                         .requestMatchers("/api/cards/**").hasAnyRole("USER")
                         .anyRequest().authenticated())
                 .sessionManagement(manager -> manager.sessionCreationPolicy(STATELESS))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    private static boolean isPrometheusScrape(HttpServletRequest request) {
+        return "/actuator/prometheus".equals(request.getRequestURI())
+                && WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()),
+                MANAGEMENT_SERVER_NAMESPACE);
+    }
+
     /**
      * Метод, создающий бин кодировщика паролей.
      * <p>
-     * Используется BCryptPasswordEncoder для хэширования паролей.
+     * Используется BCryptPasswordEncoder со стоимостью {@code security.password.strength}; хэширование
+     * и проверка выполняются в ограниченном пуле {@link BoundedPasswordEncoder}.
      *
+     * @param strength      стоимость BCrypt (log2 числа раундов)
+     * @param threads       число потоков пула; 0 — по числу процессоров
+     * @param queueCapacity размер очереди пула
      * @return объект PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.password.strength:10}") int strength,
+                                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                                  @Value("${security.password.hashing.queue-capacity:50}") int queueCapacity) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength),
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity);
     }
 
     /**
      * Метод, создающий бин провайдера аутентификации.
      * <p>
      * Используется DaoAuthenticationProvider, который использует UserDetailsService
-     * и PasswordEncoder для проверки учетных данных.
+     * и PasswordEncoder для проверки учетных данных и перехэширует пароль при смене стоимости BCrypt.
      *
+     * @param passwordEncoder кодировщик паролей
      * @return объект AuthenticationProvider
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(passwordUpgradeService);
         return authProvider;
     }
 
@@ -1,5 +1,7 @@
 package org.example.bankcards.security.jwt;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,6 +9,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.example.bankcards.security.principal.UserPrincipal;
+import org.example.bankcards.security.service.TokenVersionService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -52,6 +57,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final UserDetailsService userDetailsService;
 
+    /**
+     * Сервис проверки версии токенов, используется в режиме без обращения к базе данных.
+     */
+    private final TokenVersionService tokenVersionService;
+
+    /**
+     * Реестр метрик, в который записывается время проверки токена.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Режим аутентификации без загрузки пользователя из базы данных на каждый запрос.
+     * <p>
+     * Если включён, принципал строится из утверждений токена (id, email, role),
+     * а отзыв токенов проверяется по закэшированной версии токенов пользователя.
+     */
+    @Value("${token.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
     /**
      * Метод, вызываемый при обработке каждого HTTP-запроса.
      * Проверяет наличие и валидность JWT-токена в заголовке запроса.
@@ -69,32 +93,77 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            outcome = authenticate(request);
+        } finally {
+            sample.stop(Timer.builder("bankcards.auth.jwt")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Проверяет JWT-токен из заголовка запроса и, если он валиден, устанавливает аутентификацию в контексте безопасности.
+     *
+     * @param request объект HttpServletRequest, содержащий входящий HTTP-запрос
+     * @return результат проверки для тега {@code outcome} метрики {@code bankcards.auth.jwt}:
+     * {@code anonymous}, {@code authenticated}, {@code rejected} или {@code skipped}
+     */
+    private String authenticate(HttpServletRequest request) {
         var authHeader = request.getHeader(HEADER_NAME);
         if (StringUtils.isEmpty(authHeader) || !StringUtils.startsWith(authHeader, BEARER_PREFIX)) {
-            filterChain.doFilter(request, response);
-            return;
+            return "anonymous";
         }
 
         var jwt = authHeader.substring(BEARER_PREFIX.length());
-        var username = jwtService.extractUserName(jwt);
+        JwtTokenPayload payload = jwtService.parseToken(jwt);
+        var username = payload.getSubject();
 
-        if (StringUtils.isNotEmpty(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (StringUtils.isEmpty(username) || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
+        }
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
+        UserDetails userDetails = resolveUserDetails(payload);
+        if (userDetails == null || !jwtService.isTokenValid(payload, userDetails)) {
+            return "rejected";
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        userDetails.getPassword(),
-                        userDetails.getAuthorities()
-                );
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                userDetails.getPassword(),
+                userDetails.getAuthorities()
+        );
 
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                context.setAuthentication(authToken);
-                SecurityContextHolder.setContext(context);
-            }
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        context.setAuthentication(authToken);
+        SecurityContextHolder.setContext(context);
+        return "authenticated";
+    }
+
+    /**
+     * Определяет пользователя, от имени которого выполняется запрос.
+     * <p>
+     * В режиме без состояния пользователь строится из утверждений токена; токены без
+     * роли, а также отозванные токены отклоняются.
+     * Иначе пользователь загружается через {@link UserDetailsService}.
+     *
+     * @param payload содержимое JWT-токена {@link JwtTokenPayload}
+     * @return информация о пользователе или {@code null}, если токен не может быть принят
+     */
+    private UserDetails resolveUserDetails(JwtTokenPayload payload) {
+        if (!statelessEnabled) {
+            return userDetailsService.loadUserByUsername(payload.getSubject());
         }
-        filterChain.doFilter(request, response);
+        if (StringUtils.isEmpty(payload.getRole())
+                || !tokenVersionService.isCurrent(payload.getSubject(), payload.getTokenVersion())) {
+            return null;
+        }
+        return UserPrincipal.fromToken(payload);
     }
 }
@@ -0,0 +1,42 @@
+package org.example.bankcards.security.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+
+/**
+ * Хранилище ключа подписи и парсера JWT-токенов.
+ * <p>
+ * Ключ декодируется из base64 и парсер собирается один раз при старте приложения,
+ * после чего переиспользуются для всех запросов. {@link JwtParser} потокобезопасен.
+ */
+@Getter
+@Component
+public class JwtKeyHolder {
+
+    /**
+     * Секретный ключ для подписи токенов.
+     */
+    private final Key signingKey;
+
+    /**
+     * Парсер, проверяющий подпись и срок действия токена.
+     */
+    private final JwtParser parser;
+
+    /**
+     * @param jwtSigningKey секретный ключ в формате base64, загружается из файла конфигурации
+     */
+    public JwtKeyHolder(@Value("${token.signing.key}") String jwtSigningKey) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+}
@@ -3,18 +3,16 @@ package org.example.bankcards.security.jwt;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.example.bankcards.entity.UserEntity;
-import org.springframework.beans.factory.annotation.Value;
+import org.example.bankcards.security.principal.UserPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * Сервис для работы с JWT-токенами.
@@ -22,14 +20,21 @@ import java.util.function.Function;
  * Реализует функции генерации, извлечения данных и проверки валидности токенов.
  */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
+
     /**
-     * Секретный ключ для подписи токенов.
-     * <p>
-     * Значение загружается из файла конфигурации (application.properties).
+     * Имена пользовательских утверждений, добавляемых в токен.
+     */
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    /**
+     * Ключ подписи и парсер, созданные один раз при старте приложения.
      */
-    @Value("${token.signing.key}")
-    private String jwtSigningKey;
+    private final JwtKeyHolder jwtKeyHolder;
 
     /**
      * Извлекает имя пользователя из JWT-токена.
@@ -38,7 +43,30 @@ public class JwtService {
      * @return имя пользователя, указанное в токене
      */
     public String extractUserName(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return extractAllClaims(token).getSubject();
+    }
+
+    /**
+     * Разбирает и проверяет JWT-токен за один проход.
+     * <p>
+     * Проверяются подпись и срок действия. Возвращаются subject, срок действия
+     * и пользовательские утверждения вместе.
+     *
+     * @param token JWT-токен
+     * @return содержимое токена {@link JwtTokenPayload}
+     * @throws io.jsonwebtoken.JwtException если токен повреждён, подпись неверна или срок действия истёк
+     */
+    public JwtTokenPayload parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        return JwtTokenPayload.builder()
+                .subject(claims.getSubject())
+                .issuedAt(claims.getIssuedAt())
+                .expiration(claims.getExpiration())
+                .userId(claims.get(CLAIM_ID, Long.class))
+                .email(claims.get(CLAIM_EMAIL, String.class))
+                .role(claims.get(CLAIM_ROLE, String.class))
+                .tokenVersion(Optional.ofNullable(claims.get(CLAIM_TOKEN_VERSION, Integer.class)).orElse(0))
+                .build();
     }
 
     /**
@@ -50,9 +78,10 @@ public class JwtService {
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
         if (userDetails instanceof UserEntity customUserDetails) {
-            claims.put("id", customUserDetails.getId());
-            claims.put("email", customUserDetails.getEmail());
-            claims.put("role", customUserDetails.getRole());
+            claims.put(CLAIM_ID, customUserDetails.getId());
+            claims.put(CLAIM_EMAIL, customUserDetails.getEmail());
+            claims.put(CLAIM_ROLE, customUserDetails.getRole());
+            claims.put(CLAIM_TOKEN_VERSION, customUserDetails.getTokenVersion());
         }
         return generateToken(claims, userDetails);
     }
@@ -68,21 +97,23 @@ public class JwtService {
      * @return true, если токен валиден, иначе false
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
     }
 
     /**
-     * Извлекает значение из JWT-токена с помощью переданной функции.
+     * Проверяет валидность уже разобранного JWT-токена без повторного разбора.
+     * <p>
+     * Если пользователь загружен из базы данных, дополнительно сверяется версия токенов:
+     * токены, выпущенные до изменения или удаления пользователя, считаются отозванными.
      *
-     * @param token             JWT-токен
-     * @param claimsResolvers   функция для извлечения значения из Claims
-     * @param <T>               тип возвращаемого значения
-     * @return извлеченное значение
+     * @param payload     содержимое токена, полученное из {@link #parseToken(String)}
+     * @param userDetails информация о пользователе
+     * @return true, если токен валиден, иначе false
      */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolvers.apply(claims);
+    public boolean isTokenValid(JwtTokenPayload payload, UserDetails userDetails) {
+        return payload.getSubject().equals(userDetails.getUsername())
+                && isTokenVersionCurrent(payload, userDetails)
+                && !isTokenExpired(payload);
     }
 
     /**
@@ -96,27 +127,34 @@ public class JwtService {
         return Jwts.builder().setClaims(extraClaims).setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 100000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+                .signWith(jwtKeyHolder.getSigningKey(), SignatureAlgorithm.HS256).compact();
     }
 
     /**
-     * Проверяет, истёк ли срок действия JWT-токена.
+     * Сверяет версию токена с текущей версией токенов пользователя.
      *
-     * @param token JWT-токен
-     * @return true, если токен истёк, иначе false
+     * @param payload     содержимое JWT-токена
+     * @param userDetails информация о пользователе
+     * @return true, если версии совпадают или версия пользователя неизвестна
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isTokenVersionCurrent(JwtTokenPayload payload, UserDetails userDetails) {
+        if (userDetails instanceof UserEntity userEntity) {
+            return userEntity.getTokenVersion() == payload.getTokenVersion();
+        }
+        if (userDetails instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.getTokenVersion() == payload.getTokenVersion();
+        }
+        return true;
     }
 
     /**
-     * Извлекает дату истечения срока действия JWT-токена.
+     * Проверяет, истёк ли срок действия JWT-токена.
      *
-     * @param token JWT-токен
-     * @return дата истечения срока действия
+     * @param payload содержимое JWT-токена
+     * @return true, если токен истёк, иначе false
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(JwtTokenPayload payload) {
+        return payload.getExpiration().before(new Date());
     }
 
     /**
@@ -126,20 +164,8 @@ public class JwtService {
      * @return объект Claims, содержащий информацию из токена
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtKeyHolder.getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    /**
-     * Получает секретный ключ для подписи JWT-токенов.
-     *
-     * @return объект Key, представляющий секретный ключ
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
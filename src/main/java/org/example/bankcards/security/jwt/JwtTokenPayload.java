@@ -0,0 +1,57 @@
+package org.example.bankcards.security.jwt;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Date;
+
+/**
+ * Результат однократного разбора JWT-токена.
+ * <p>
+ * Содержит стандартные и пользовательские утверждения (claims), чтобы при обработке
+ * запроса не приходилось разбирать токен повторно.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JwtTokenPayload {
+
+    /**
+     * Имя пользователя (subject).
+     */
+    String subject;
+
+    /**
+     * Дата выпуска токена.
+     */
+    Date issuedAt;
+
+    /**
+     * Дата истечения срока действия токена.
+     */
+    Date expiration;
+
+    /**
+     * Идентификатор пользователя.
+     */
+    Long userId;
+
+    /**
+     * Адрес электронной почты пользователя.
+     */
+    String email;
+
+    /**
+     * Роль пользователя.
+     */
+    String role;
+
+    /**
+     * Версия токенов пользователя на момент выпуска токена.
+     */
+    int tokenVersion;
+}
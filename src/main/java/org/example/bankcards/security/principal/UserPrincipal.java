@@ -0,0 +1,104 @@
+package org.example.bankcards.security.principal;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.security.jwt.JwtTokenPayload;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Неизменяемое представление аутентифицированного пользователя.
+ * <p>
+ * В отличие от {@link UserEntity} не связано с контекстом персистентности
+ * и не содержит коллекций карт и переводов.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserPrincipal implements UserDetails {
+
+    Long id;
+
+    String username;
+
+    String email;
+
+    String role;
+
+    /**
+     * Хэш пароля. Равен {@code null}, если принципал построен из JWT-токена.
+     */
+    String password;
+
+    /**
+     * Версия токенов пользователя, см. {@link org.example.bankcards.security.service.TokenVersionService}.
+     */
+    int tokenVersion;
+
+    /**
+     * Создаёт принципал из утверждений JWT-токена без обращения к базе данных.
+     *
+     * @param payload содержимое токена {@link JwtTokenPayload}
+     * @return принципал без пароля {@link UserPrincipal}
+     */
+    public static UserPrincipal fromToken(JwtTokenPayload payload) {
+        return UserPrincipal.builder()
+                .id(payload.getUserId())
+                .username(payload.getSubject())
+                .email(payload.getEmail())
+                .role(payload.getRole())
+                .tokenVersion(payload.getTokenVersion())
+                .build();
+    }
+
+    /**
+     * Создаёт принципал из сущности пользователя, копируя только необходимые поля.
+     *
+     * @param userEntity сущность пользователя {@link UserEntity}
+     * @return принципал с хэшем пароля {@link UserPrincipal}
+     */
+    public static UserPrincipal fromEntity(UserEntity userEntity) {
+        return UserPrincipal.builder()
+                .id(userEntity.getId())
+                .username(userEntity.getName())
+                .email(userEntity.getEmail())
+                .role(userEntity.getRole())
+                .password(userEntity.getPassword())
+                .tokenVersion(userEntity.getTokenVersion())
+                .build();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(this.role));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
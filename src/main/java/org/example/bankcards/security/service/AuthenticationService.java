@@ -1,12 +1,14 @@
 package org.example.bankcards.security.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.example.bankcards.dto.UserDto;
 import org.example.bankcards.dto.jwt.JwtAuthenticationResponseDto;
 import org.example.bankcards.dto.jwt.SignInRequestDto;
 import org.example.bankcards.dto.jwt.SignUpRequestDto;
+import org.example.bankcards.exception.custom_exceptions.PasswordHashingOverloadedException;
 import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
-import org.example.bankcards.mapper.UserMapper;
+import org.example.bankcards.metrics.MeasuredOperation;
 import org.example.bankcards.repository.UserRepository;
 import org.example.bankcards.security.jwt.JwtService;
 import org.example.bankcards.service.UserService;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
  * Класс {@code AuthenticationService} отвечает за обработку процессов регистрации и входа в систему.
  * Он использует сервисы шифрования паролей, генерации токенов и работу с пользователями.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
@@ -25,13 +28,14 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
     private final UserService userService;
-    private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final PasswordUpgradeService passwordUpgradeService;
 
     /**
      * Метод регистрации нового пользователя.
      * <p>
-     * Создаёт нового пользователя на основе переданных данных и генерирует JWT-токен.
+     * Создаёт нового пользователя на основе переданных данных и генерирует JWT-токен
+     * по сохранённой сущности.
      *
      * @param request данные пользователя для регистрации
      * @return объект с JWT-токеном и сообщением об успешной регистрации
@@ -45,22 +49,24 @@ public class AuthenticationService {
                 .role("ROLE_ADMIN")
                 .build();
 
-        userService.createUser(user);
-
-        String jwt = jwtService.generateToken(userMapper.toEntity(user));
+        String jwt = jwtService.generateToken(userService.registerUser(user));
         return new JwtAuthenticationResponseDto(jwt);
     }
 
     /**
      * Метод авторизации существующего пользователя.
      * <p>
-     * Проверяет учетные данные пользователя и возвращает JWT-токен.
+     * Проверяет учетные данные пользователя и возвращает JWT-токен. Если хэш пароля создан
+     * с меньшей стоимостью BCrypt, чем настроена сейчас, пароль перехэшируется, когда пул хэширования
+     * не перегружен; иначе обновление откладывается до следующего входа.
      *
      * @param request данные пользователя для входа
      * @return объект с JWT-токеном и сообщением об успешной авторизации
-     * @throws UserNotFoundException если пользователь не найден
-     * @throws RuntimeException      если введён неверный пароль
+     * @throws UserNotFoundException              если пользователь не найден
+     * @throws RuntimeException                   если введён неверный пароль
+     * @throws PasswordHashingOverloadedException если очередь проверки паролей заполнена
      */
+    @MeasuredOperation("bankcards.auth.sign-in")
     public JwtAuthenticationResponseDto signIn(SignInRequestDto request) {
         UserDetails user = userRepository.findUserByName(request.getUsername())
                 .orElseThrow(UserNotFoundException::getUserNotFoundException);
@@ -68,8 +74,19 @@ public class AuthenticationService {
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Неправильный пароль");
         }
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            upgradePassword(user, request.getPassword());
+        }
 
         String jwt = jwtService.generateToken(user);
         return new JwtAuthenticationResponseDto(jwt);
     }
+
+    private void upgradePassword(UserDetails user, String rawPassword) {
+        try {
+            passwordUpgradeService.updatePassword(user, passwordEncoder.encode(rawPassword));
+        } catch (PasswordHashingOverloadedException e) {
+            log.debug("Перехэширование пароля пользователя {} отложено: пул хэширования перегружен", user.getUsername());
+        }
+    }
 }
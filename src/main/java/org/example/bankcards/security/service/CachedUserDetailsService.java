@@ -0,0 +1,109 @@
+package org.example.bankcards.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.bankcards.dto.CacheStatsDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.security.principal.UserPrincipal;
+import org.example.bankcards.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэширующая обёртка над {@link UserDetailsServiceImpl}.
+ * <p>
+ * Хранит неизменяемые {@link UserPrincipal}, а не управляемые JPA сущности {@link UserEntity}.
+ * Размер кэша и срок жизни записей ограничены настройками {@code security.user-cache.*}.
+ * Записи сбрасываются при изменении и удалении пользователя.
+ */
+@Primary
+@Service
+public class CachedUserDetailsService implements UserDetailsService, MeterBinder {
+
+    private final UserDetailsServiceImpl delegate;
+    private final boolean enabled;
+    private final Cache<String, UserPrincipal> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachedUserDetailsService(UserDetailsServiceImpl delegate,
+                                    @Value("${security.user-cache.enabled:true}") boolean enabled,
+                                    @Value("${security.user-cache.ttl:60s}") Duration ttl,
+                                    @Value("${security.user-cache.maximum-size:10000}") long maximumSize) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Загружает пользователя из кэша, а при промахе — через {@link UserDetailsServiceImpl}.
+     *
+     * @param username имя пользователя, которое необходимо найти
+     * @return неизменяемый принципал {@link UserPrincipal}
+     * @throws UsernameNotFoundException если пользователь с указанным именем не найден
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return delegate.loadUserByUsername(username);
+        }
+        return cache.get(username, this::loadPrincipal);
+    }
+
+    /**
+     * Сбрасывает запись пользователя после фиксации текущей транзакции.
+     *
+     * @param username имя пользователя
+     */
+    public void evict(String username) {
+        TransactionUtils.afterCommit(() -> {
+            invalidations.increment();
+            cache.invalidate(username);
+        });
+    }
+
+    /**
+     * Публикует статистику кэша в реестре метрик под именем {@code users}.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    /**
+     * Возвращает статистику кэша для подбора его размера и срока жизни записей.
+     *
+     * @return статистика кэша {@link CacheStatsDto}
+     */
+    public CacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .invalidationCount(invalidations.sum())
+                .size(cache.estimatedSize())
+                .build();
+    }
+
+    private UserPrincipal loadPrincipal(String username) {
+        return UserPrincipal.fromEntity((UserEntity) delegate.loadUserByUsername(username));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.bankcards.security.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.bankcards.repository.UserRepository;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Сохраняет пароль, перехэшированный с текущей стоимостью BCrypt ({@code security.password.strength}).
+ * <p>
+ * Вызывается после успешного входа, если хэш пароля создан с меньшей стоимостью, поэтому стоимость
+ * можно повысить без сброса паролей. Версия токенов не меняется: пароль остаётся прежним.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final CachedUserDetailsService cachedUserDetailsService;
+
+    /**
+     * Заменяет хэш пароля пользователя.
+     *
+     * @param user        пользователь, прошедший проверку пароля
+     * @param newPassword новый хэш пароля
+     * @return пользователь с новым хэшем пароля
+     */
+    @Transactional
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByName(user.getUsername(), newPassword);
+        cachedUserDetailsService.evict(user.getUsername());
+        log.info("Хэш пароля пользователя {} обновлён", user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.bankcards.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Сервис проверки версии токенов пользователя.
+ * <p>
+ * Версия хранится в колонке {@code users.token_version} и увеличивается при изменении
+ * или удалении пользователя, что отзывает все ранее выданные токены. Текущие версии
+ * кэшируются на {@code token.stateless.version-cache-ttl}, поэтому база данных
+ * опрашивается не чаще одного раза за этот интервал на пользователя. На других
+ * экземплярах приложения отзыв вступает в силу не позднее истечения этого интервала.
+ */
+@Service
+public class TokenVersionService implements MeterBinder {
+
+    /**
+     * Значение в кэше для пользователя, которого нет в базе данных.
+     */
+    private static final int MISSING_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<String, Integer> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${token.stateless.version-cache-ttl:30s}") Duration ttl,
+                               @Value("${token.stateless.version-cache-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Проверяет, что версия токена совпадает с текущей версией пользователя.
+     *
+     * @param username     имя пользователя
+     * @param tokenVersion версия, записанная в токене
+     * @return true, если токен не отозван и пользователь существует, иначе false
+     */
+    public boolean isCurrent(String username, int tokenVersion) {
+        int currentVersion = versions.get(username, name -> userRepository.findTokenVersionByName(name)
+                .orElse(MISSING_USER));
+        return currentVersion != MISSING_USER && currentVersion == tokenVersion;
+    }
+
+    /**
+     * Сбрасывает закэшированную версию пользователя после фиксации текущей транзакции.
+     *
+     * @param username имя пользователя
+     */
+    public void evict(String username) {
+        TransactionUtils.afterCommit(() -> versions.invalidate(username));
+    }
+
+    /**
+     * Публикует статистику кэша в реестре метрик под именем {@code token_versions}.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, versions, "token_versions");
+    }
+}
@@ -1,9 +1,15 @@
 package org.example.bankcards.service;
 
 import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
 import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.example.bankcards.dto.UserRequestDto;
 
+import java.util.List;
+
 /**
  * Интерфейс содержит методы для управления состоянием карт и операциями с ними.
  */
@@ -36,6 +42,32 @@ public interface CardBusinessService {
      */
     CardTransferDto transfer(CardTransferDto cardTransferDto, String username);
 
+    /**
+     * Метод пакетного перевода средств между картами пользователя.
+     * <p>
+     * Выполняет переводы по порядку в одной транзакции. Перевод, не прошедший проверки,
+     * отклоняется и не влияет на остальные переводы пакета.
+     *
+     * @param transfers данные о переводах (номера карт, суммы)
+     * @param username  имя пользователя, совершающего переводы
+     * @return объект {@link CardTransferBatchResultDto} с результатом каждого перевода
+     */
+    CardTransferBatchResultDto transferBatch(List<CardTransferDto> transfers, String username);
+
+    /**
+     * Метод получения истории переводов пользователя с keyset-пагинацией.
+     * <p>
+     * Переводы возвращаются от новых к старым; следующая страница запрашивается по курсору из предыдущей.
+     *
+     * @param filter   критерии фильтрации (период, номер карты)
+     * @param after    курсор, полученный с предыдущей страницей; {@code null} для первой страницы
+     * @param limit    максимальное количество переводов на странице
+     * @param username имя пользователя, чья история запрашивается
+     * @return объект {@link CursorPageDto} с переводами и курсором следующей страницы
+     */
+    CursorPageDto<CardTransferHistoryDto> getTransferHistory(CardTransferHistoryFilterDto filter, String after,
+                                                             int limit, String username);
+
     /**
      * Метод отправки запроса на блокировку карты от имени пользователя.
      * <p>
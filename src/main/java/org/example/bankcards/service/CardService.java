@@ -2,8 +2,10 @@ package org.example.bankcards.service;
 
 import org.example.bankcards.dto.CardDto;
 import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -52,6 +54,15 @@ public interface CardService {
      */
     Page<CardDto> getAllCardsPaginated(Pageable pageable);
 
+    /**
+     * Получает страницу всех карт с keyset-пагинацией по идентификатору.
+     *
+     * @param after курсор, полученный с предыдущей страницей; {@code null} для первой страницы
+     * @param limit максимальное количество карт на странице
+     * @return страница с картами и курсором следующей страницы {@link CursorPageDto}
+     */
+    CursorPageDto<CardDto> getAllCardsAfter(String after, int limit);
+
     /**
      * Получает список всех карт, принадлежащих указанному пользователю.
      *
@@ -87,4 +98,14 @@ public interface CardService {
      * @return страница с отфильтрованными картами пользователя в виде объектов {@link CardDto}
      */
     Page<CardDto> getUserCardsFiltredPaged(CardFilterDto cardFilterDto, String username, Pageable pageable);
+
+    /**
+     * Получает отфильтрованный срез карт указанного пользователя без подсчёта общего количества записей.
+     *
+     * @param cardFilterDto критерии фильтрации (например, статус, номер карты, баланс и т.д.)
+     * @param username      имя пользователя
+     * @param pageable      параметры пагинации (номер страницы, количество записей)
+     * @return срез с отфильтрованными картами пользователя в виде объектов {@link CardDto}
+     */
+    Slice<CardDto> getUserCardsFiltredSlice(CardFilterDto cardFilterDto, String username, Pageable pageable);
 }
@@ -0,0 +1,30 @@
+package org.example.bankcards.service;
+
+import org.example.bankcards.enums.ExportFormatEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Интерфейс {@code ExportService} определяет методы для потоковой выгрузки данных.
+ */
+public interface ExportService {
+
+    /**
+     * Выгружает все карты в указанном формате.
+     *
+     * @param format формат выгрузки {@link ExportFormatEnum}
+     * @param out    поток, в который записываются данные
+     * @throws IOException если запись в поток не удалась
+     */
+    void exportCards(ExportFormatEnum format, OutputStream out) throws IOException;
+
+    /**
+     * Выгружает все переводы средств в указанном формате.
+     *
+     * @param format формат выгрузки {@link ExportFormatEnum}
+     * @param out    поток, в который записываются данные
+     * @throws IOException если запись в поток не удалась
+     */
+    void exportTransfers(ExportFormatEnum format, OutputStream out) throws IOException;
+}
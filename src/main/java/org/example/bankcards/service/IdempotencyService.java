@@ -0,0 +1,24 @@
+package org.example.bankcards.service;
+
+import org.example.bankcards.dto.CardTransferDto;
+
+/**
+ * Интерфейс содержит методы для идемпотентного выполнения операций по ключу {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Метод идемпотентного перевода средств между картами.
+     * <p>
+     * Первый запрос с ключом выполняет перевод и сохраняет результат. Повторные запросы с тем же ключом
+     * и теми же данными возвращают сохранённый результат без повторного перевода.
+     *
+     * @param idempotencyKey  ключ идемпотентности, переданный клиентом
+     * @param cardTransferDto данные о переводе (номера карт, сумма)
+     * @param username        имя пользователя, совершающего перевод
+     * @return объект {@link CardTransferDto}, представляющий выполненный перевод
+     * @throws org.example.bankcards.exception.custom_exceptions.IdempotencyKeyConflictException
+     *         если ключ уже использован для запроса с другими данными
+     */
+    CardTransferDto transfer(String idempotencyKey, CardTransferDto cardTransferDto, String username);
+}
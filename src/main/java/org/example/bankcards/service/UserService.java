@@ -1,6 +1,7 @@
 package org.example.bankcards.service;
 
 import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.entity.UserEntity;
 
 import java.util.List;
 
@@ -17,6 +18,16 @@ public interface UserService {
      */
     UserDto createUser(UserDto userDto);
 
+    /**
+     * Регистрирует нового пользователя и возвращает сохранённую сущность.
+     * <p>
+     * Пароль хэшируется один раз; сущность можно сразу использовать для выпуска токена.
+     *
+     * @param userDto данные пользователя в формате DTO
+     * @return сохранённый пользователь
+     */
+    UserEntity registerUser(UserDto userDto);
+
     /**
      * Удаляет пользователя по его идентификатору.
      *
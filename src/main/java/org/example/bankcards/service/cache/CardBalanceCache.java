@@ -0,0 +1,129 @@
+package org.example.bankcards.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.bankcards.dto.CacheStatsDto;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш балансов карт перед запросом {@link CardRepository#findBalanceByIdAndUserName(Long, String)}.
+ * <p>
+ * Записи хранятся по идентификатору карты вместе с именем владельца, поэтому чужая карта
+ * не возвращается и из кэша. Переводы, блокировка и изменение карты сбрасывают записи после фиксации
+ * транзакции. Если чтение из базы данных пересеклось с параллельным переводом, устаревший баланс может
+ * остаться в кэше, но не дольше {@code card.balance-cache.ttl}; поэтому срок жизни записей короткий.
+ * Кэш отключается настройкой {@code card.balance-cache.enabled}.
+ */
+@Component
+public class CardBalanceCache implements MeterBinder {
+
+    private final CardRepository cardRepository;
+    private final boolean enabled;
+    private final Cache<Long, CachedBalance> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public CardBalanceCache(CardRepository cardRepository,
+                            @Value("${card.balance-cache.enabled:true}") boolean enabled,
+                            @Value("${card.balance-cache.ttl:5s}") Duration ttl,
+                            @Value("${card.balance-cache.maximum-size:10000}") long maximumSize) {
+        this.cardRepository = cardRepository;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Возвращает баланс карты из кэша, а при промахе — одним запросом к базе данных.
+     *
+     * @param cardId   идентификатор карты
+     * @param username имя пользователя (владельца карты)
+     * @return {@code Optional<BigInteger>} — баланс или пустое значение, если карта не найдена или принадлежит другому пользователю
+     */
+    public Optional<BigInteger> getBalance(Long cardId, String username) {
+        if (!enabled) {
+            return cardRepository.findBalanceByIdAndUserName(cardId, username);
+        }
+        CachedBalance cached = cache.getIfPresent(cardId);
+        if (cached != null) {
+            return cached.owner().equals(username) ? Optional.of(cached.balance()) : Optional.empty();
+        }
+        Optional<BigInteger> balance = cardRepository.findBalanceByIdAndUserName(cardId, username);
+        balance.ifPresent(value -> cache.put(cardId, new CachedBalance(username, value)));
+        return balance;
+    }
+
+    /**
+     * Сбрасывает балансы карт после фиксации текущей транзакции.
+     *
+     * @param cardIds идентификаторы карт
+     */
+    public void evict(Collection<Long> cardIds) {
+        if (!enabled || cardIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(cardIds);
+        TransactionUtils.afterCommit(() -> {
+            invalidations.add(ids.size());
+            cache.invalidateAll(ids);
+        });
+    }
+
+    /**
+     * Сбрасывает баланс карты после фиксации текущей транзакции.
+     *
+     * @param cardId идентификатор карты
+     */
+    public void evict(Long cardId) {
+        evict(List.of(cardId));
+    }
+
+    /**
+     * Публикует статистику кэша в реестре метрик под именем {@code card_balances}.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "card_balances");
+    }
+
+    /**
+     * Возвращает статистику кэша для подбора его размера и срока жизни записей.
+     *
+     * @return статистика кэша {@link CacheStatsDto}
+     */
+    public CacheStatsDto getStats() {
+        CacheStats stats = cache.stats();
+        return CacheStatsDto.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .invalidationCount(invalidations.sum())
+                .size(cache.estimatedSize())
+                .build();
+    }
+
+    /**
+     * Баланс карты вместе с именем её владельца.
+     */
+    private record CachedBalance(String owner, BigInteger balance) {
+    }
+}
@@ -2,33 +2,56 @@ package org.example.bankcards.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardTransferBatchItemDto;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
 import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.example.bankcards.dto.UserRequestDto;
+import org.example.bankcards.entity.CardEntity;
 import org.example.bankcards.entity.CardTransferEntity;
 import org.example.bankcards.entity.UserEntity;
 import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.enums.TransferStatusEnum;
 import org.example.bankcards.exception.custom_exceptions.CardIsNotActiveException;
 import org.example.bankcards.exception.custom_exceptions.CardNotFoundException;
-import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.example.bankcards.exception.custom_exceptions.InvalidCursorException;
 import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
 import org.example.bankcards.mapper.CardTransferMapper;
 import org.example.bankcards.mapper.UserRequestMapper;
+import org.example.bankcards.metrics.MeasuredOperation;
+import org.example.bankcards.metrics.TransferMetrics;
+import org.example.bankcards.repository.CardRepository;
 import org.example.bankcards.repository.CardTransferRepository;
 import org.example.bankcards.repository.UserRepository;
 import org.example.bankcards.repository.UserRequestRepository;
+import org.example.bankcards.retry.RetryOnConcurrencyFailure;
 import org.example.bankcards.service.CardBusinessService;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.cache.CardBalanceCache;
+import org.example.bankcards.service.validator.CardTransferValidator;
+import org.example.bankcards.util.CursorCodec;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigInteger;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@RetryOnConcurrencyFailure
 public class CardBusinessServiceImpl implements CardBusinessService {
 
     private final CardService cardService;
@@ -37,6 +60,10 @@ public class CardBusinessServiceImpl implements CardBusinessService {
     private final UserRequestRepository userRequestRepository;
     private final CardTransferRepository cardTransferRepository;
     private final UserRepository userRepository;
+    private final CardRepository cardRepository;
+    private final CardTransferValidator cardTransferValidator;
+    private final CardBalanceCache cardBalanceCache;
+    private final TransferMetrics transferMetrics;
 
     @Transactional
     @Override
@@ -54,31 +81,43 @@ public class CardBusinessServiceImpl implements CardBusinessService {
         return cardService.updateCard(cardDto);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    /**
+     * Переводит средства между двумя картами пользователя.
+     * <p>
+     * Выполняется на уровне изоляции READ COMMITTED: строки обеих карт блокируются
+     * ({@code SELECT ... FOR NO KEY UPDATE}) в порядке возрастания номера карты, поэтому
+     * параллельные переводы не теряют обновления баланса и не блокируют друг друга взаимно.
+     * Изменённые балансы сохраняются при фиксации транзакции.
+     */
+    @MeasuredOperation("bankcards.transfer")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public CardTransferDto transfer(CardTransferDto cardTransferDto, String username) {
 
         String toCard = cardTransferDto.getCardNumberTo();
         String fromCard = cardTransferDto.getCardNumberFrom();
-
-        if (toCard.equals(fromCard)) {
-            throw new RuntimeException("Карты не могут быть одинаковыми");
-        }
+        cardTransferValidator.checkDifferentCards(fromCard, toCard);
 
         BigInteger amount = cardTransferDto.getAmount();
 
-        List<CardDto> cards = cardService.getAllUserCards(username);
-        List<CardDto> existingCards = getExistingUserCardsAndActive(cards, toCard, fromCard);
-        UserEntity user = userRepository.findUserByName(username)
+        Long userId = userRepository.findIdByName(username)
                 .orElseThrow(UserNotFoundException::getUserNotFoundException);
 
-        existingCards.stream()
-                .peek(cardDto -> transferBalance(cardDto, toCard, amount))
-                .peek(this::checkNegativeBalance)
-                .forEach(cardService::updateCard);
+        Map<String, CardEntity> cards = cardRepository
+                .findAllByUserIdAndCardNumberInForUpdate(userId, List.of(fromCard, toCard))
+                .stream()
+                .collect(Collectors.toMap(CardEntity::getCardNumber, Function.identity()));
+        if (cards.size() < 2) {
+            throw CardNotFoundException.getCardNotFoundException();
+        }
+        cards.values().forEach(cardTransferValidator::checkIsActiveCard);
+
+        cardTransferValidator.applyTransfer(cards, fromCard, toCard, amount);
+        cardBalanceCache.evict(List.of(cards.get(fromCard).getId(), cards.get(toCard).getId()));
+        transferMetrics.recordCompleted(amount);
 
         return Optional.of(CardTransferEntity.builder()
-                        .user(user)
+                        .user(userRepository.getReferenceById(userId))
                         .cardNumberTo(toCard)
                         .cardNumberFrom(fromCard)
                         .amount(amount)
@@ -90,73 +129,158 @@ public class CardBusinessServiceImpl implements CardBusinessService {
                 .orElseThrow();
     }
 
-    private void checkNegativeBalance(CardDto cardDto) {
-        if (cardDto.getBalance().compareTo(BigInteger.ZERO) < 0) {
-            throw NegativeBalanceException.getNegativeBalanceException();
+    /**
+     * Выполняет пакет переводов в одной транзакции на уровне изоляции READ COMMITTED.
+     * <p>
+     * Все карты пакета блокируются одним запросом, а владелец и статус каждой карты проверяются один раз.
+     * Балансы изменяются в памяти по порядку переводов и сохраняются при фиксации транзакции
+     * вместе с выполненными переводами пакетными JDBC-запросами ({@code hibernate.jdbc.batch_size}).
+     */
+    @MeasuredOperation("bankcards.transfer.batch")
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Override
+    public CardTransferBatchResultDto transferBatch(List<CardTransferDto> transfers, String username) {
+        Long userId = userRepository.findIdByName(username)
+                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+
+        Set<String> cardNumbers = new TreeSet<>();
+        transfers.forEach(transfer -> {
+            cardNumbers.add(transfer.getCardNumberFrom());
+            cardNumbers.add(transfer.getCardNumberTo());
+        });
+
+        Map<String, CardEntity> cards = cardRepository.findAllByUserIdAndCardNumberInForUpdate(userId, cardNumbers)
+                .stream()
+                .collect(Collectors.toMap(CardEntity::getCardNumber, Function.identity()));
+        Map<String, RuntimeException> cardErrors = checkBatchCards(cardNumbers, cards);
+
+        UserEntity user = userRepository.getReferenceById(userId);
+        List<CardTransferBatchItemDto> items = new ArrayList<>(transfers.size());
+        List<CardTransferEntity> completed = new ArrayList<>();
+        LocalDateTime transferTime = LocalDateTime.now();
+
+        for (int i = 0; i < transfers.size(); i++) {
+            CardTransferDto transfer = transfers.get(i);
+            try {
+                cardTransferValidator.checkDifferentCards(transfer.getCardNumberFrom(), transfer.getCardNumberTo());
+                throwIfPresent(cardErrors.get(transfer.getCardNumberFrom()));
+                throwIfPresent(cardErrors.get(transfer.getCardNumberTo()));
+
+                cardTransferValidator.applyTransfer(cards, transfer.getCardNumberFrom(), transfer.getCardNumberTo(),
+                        transfer.getAmount());
+                transferMetrics.recordCompleted(transfer.getAmount());
+
+                completed.add(CardTransferEntity.builder()
+                        .user(user)
+                        .cardNumberFrom(transfer.getCardNumberFrom())
+                        .cardNumberTo(transfer.getCardNumberTo())
+                        .amount(transfer.getAmount())
+                        .transferTime(transferTime)
+                        .build());
+                items.add(CardTransferBatchItemDto.builder()
+                        .index(i)
+                        .status(TransferStatusEnum.COMPLETED)
+                        .transfer(transfer)
+                        .build());
+            } catch (RuntimeException ex) {
+                items.add(CardTransferBatchItemDto.builder()
+                        .index(i)
+                        .status(TransferStatusEnum.REJECTED)
+                        .transfer(transfer)
+                        .errorMessage(ex.getMessage())
+                        .build());
+            }
         }
-    }
 
-    private void transferBalance(CardDto cardDto, String toCard, BigInteger amount) {
-        if (cardDto.getCardNumber().equals(toCard)) {
-            cardDto.setBalance(cardDto.getBalance().add(amount));
-        } else {
-            cardDto.setBalance(cardDto.getBalance().subtract(amount));
+        cardTransferRepository.saveAll(completed);
+        if (!completed.isEmpty()) {
+            cardBalanceCache.evict(cards.values().stream().map(CardEntity::getId).toList());
         }
+
+        return CardTransferBatchResultDto.builder()
+                .completed(completed.size())
+                .rejected(transfers.size() - completed.size())
+                .items(items)
+                .build();
     }
 
-    private List<CardDto> getExistingUserCardsAndActive(List<CardDto> cards,
-                                                        String toCard,
-                                                        String fromCard) {
-        List<CardDto> result = cards.stream()
-                .filter(card -> checkingUserHasCards(toCard, fromCard, card))
-                .peek(this::checkIsActiveCard)
-                .toList();
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<CardTransferHistoryDto> getTransferHistory(CardTransferHistoryFilterDto filter, String after,
+                                                                    int limit, String username) {
+        Long userId = userRepository.findIdByName(username)
+                .orElseThrow(UserNotFoundException::getUserNotFoundException);
 
-        if (result.size() < 2) {
-            throw CardNotFoundException.getCardNotFoundException();
+        LocalDateTime afterTime = null;
+        Long afterId = null;
+        if (after != null) {
+            String[] cursor = CursorCodec.decode(after, 2);
+            try {
+                afterTime = LocalDateTime.parse(cursor[0]);
+                afterId = Long.valueOf(cursor[1]);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw InvalidCursorException.getInvalidCursorException();
+            }
         }
 
-        return result;
+        List<CardTransferHistoryDto> transfers =
+                cardTransferRepository.findHistory(userId, filter, afterTime, afterId, limit + 1);
+        boolean hasNext = transfers.size() > limit;
+        List<CardTransferHistoryDto> content = hasNext ? transfers.subList(0, limit) : transfers;
+        CardTransferHistoryDto last = hasNext ? content.get(limit - 1) : null;
+
+        return CursorPageDto.<CardTransferHistoryDto>builder()
+                .content(content)
+                .nextCursor(last != null ? CursorCodec.encode(last.getTransferTime(), last.getId()) : null)
+                .hasNext(hasNext)
+                .build();
     }
 
-    private boolean checkingUserHasCards(String toCard, String fromCard, CardDto card) {
-        return card.getCardNumber().equals(toCard) || card.getCardNumber().equals(fromCard);
+    private Map<String, RuntimeException> checkBatchCards(Set<String> cardNumbers, Map<String, CardEntity> cards) {
+        Map<String, RuntimeException> cardErrors = new HashMap<>();
+        for (String cardNumber : cardNumbers) {
+            CardEntity card = cards.get(cardNumber);
+            if (card == null) {
+                cardErrors.put(cardNumber, CardNotFoundException.getCardNotFoundException());
+                continue;
+            }
+            try {
+                cardTransferValidator.checkIsActiveCard(card);
+            } catch (RuntimeException ex) {
+                cardErrors.put(cardNumber, ex);
+            }
+        }
+        return cardErrors;
     }
 
-    private void checkIsActiveCard(CardDto card) {
-        if (!card.getStatus().equals(CardStatusEnum.ACTIVE)) {
-            throw CardIsNotActiveException.getCardIsNotActiveException();
+    private void throwIfPresent(RuntimeException cardError) {
+        if (cardError != null) {
+            throw cardError;
         }
     }
 
+    @MeasuredOperation("bankcards.card.block-request")
     @Transactional
     @Override
     public UserRequestDto userBlockRequest(Long id, String username) {
-        return cardService.getAllUserCards(username).stream()
-                .filter(card ->
-                        card.getCardNumber().equals(cardService.getCardById(id).getCardNumber()))
-                .findAny()
-                .map(this::checkIsBlocked)
-                .map(card -> {
-                    card.setStatus(CardStatusEnum.BLOCKED);
-                    cardService.updateCard(card);
-                    return UserRequestDto.builder()
-                            .requestTime(LocalDateTime.now())
-                            .userId(userRepository.findUserByName(username).orElseThrow().getId())
-                            .toStatus(CardStatusEnum.BLOCKED)
-                            .cardNumber(card.getCardNumber())
-                            .build();
-                })
-                .map(userRequestMapper::toEntity)
-                .map(userRequestRepository::save)
-                .map(userRequestMapper::toDto)
+        CardEntity card = cardRepository.findByIdAndUserNameForUpdate(id, username)
                 .orElseThrow(CardNotFoundException::getCardNotFoundException);
+        checkIsBlocked(card);
+        card.setStatus(CardStatusEnum.BLOCKED);
+        cardBalanceCache.evict(card.getId());
+
+        UserRequestDto userRequest = UserRequestDto.builder()
+                .requestTime(LocalDateTime.now())
+                .userId(card.getUser().getId())
+                .toStatus(CardStatusEnum.BLOCKED)
+                .cardNumber(card.getCardNumber())
+                .build();
+        return userRequestMapper.toDto(userRequestRepository.save(userRequestMapper.toEntity(userRequest)));
     }
 
-    private CardDto checkIsBlocked(CardDto card) {
+    private void checkIsBlocked(CardEntity card) {
         if (card.getStatus().equals(CardStatusEnum.BLOCKED)) {
             throw CardIsNotActiveException.getCardIsNotActiveException();
         }
-        return card;
     }
 }
@@ -3,16 +3,22 @@ package org.example.bankcards.service.impl;
 import lombok.RequiredArgsConstructor;
 import org.example.bankcards.dto.CardDto;
 import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.example.bankcards.entity.CardEntity;
-import org.example.bankcards.entity.UserEntity;
 import org.example.bankcards.exception.custom_exceptions.CardNotFoundException;
 import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
 import org.example.bankcards.mapper.CardMapper;
 import org.example.bankcards.repository.CardRepository;
 import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.repository.specification.CardSpecifications;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.cache.CardBalanceCache;
+import org.example.bankcards.util.CursorCodec;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +33,7 @@ public class CardServiceImpl implements CardService {
     private final CardMapper cardMapper;
     private final CardRepository cardRepository;
     private final UserRepository userRepository;
+    private final CardBalanceCache cardBalanceCache;
 
     @Transactional
     @Override
@@ -43,14 +50,20 @@ public class CardServiceImpl implements CardService {
     @Override
     public void deleteCard(Long id) {
         cardRepository.findById(id)
-                .ifPresentOrElse(cardRepository::delete, CardNotFoundException::getCardNotFoundException);
+                .ifPresentOrElse(card -> {
+                    cardRepository.delete(card);
+                    cardBalanceCache.evict(id);
+                }, CardNotFoundException::getCardNotFoundException);
     }
 
     @Transactional
     @Override
     public CardDto updateCard(CardDto cardDto) {
         return cardRepository.findById(cardDto.getId())
-                .map(entity -> cardMapper.mergeToEntity(cardDto, entity))
+                .map(entity -> {
+                    cardBalanceCache.evict(entity.getId());
+                    return cardMapper.mergeToEntity(cardDto, entity);
+                })
                 .map(cardRepository::save)
                 .map(cardMapper::toDto)
                 .orElseThrow(CardNotFoundException::getCardNotFoundException);
@@ -67,55 +80,66 @@ public class CardServiceImpl implements CardService {
     @Transactional(readOnly = true)
     @Override
     public Page<CardDto> getAllCardsPaginated(Pageable pageable) {
-        return cardRepository.findAll(pageable)
-                .map(cardMapper::toDto);
+        return cardRepository.findAllCardDto(pageable);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageDto<CardDto> getAllCardsAfter(String after, int limit) {
+        Long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        List<CardDto> cards = cardRepository.findAllCardDtoAfterId(afterId, Limit.of(limit + 1));
+
+        boolean hasNext = cards.size() > limit;
+        List<CardDto> content = hasNext ? cards.subList(0, limit) : cards;
+        return CursorPageDto.<CardDto>builder()
+                .content(content)
+                .nextCursor(hasNext ? CursorCodec.encode(content.get(limit - 1).getId()) : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<CardDto> getAllUserCards(String username) {
-        return userRepository.findUserByName(username)
-                .map(this::getCardList)
-                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+        List<CardDto> cards = cardRepository.findAllCardDtoByUserName(username);
+        if (cards.isEmpty() && userRepository.findIdByName(username).isEmpty()) {
+            throw UserNotFoundException.getUserNotFoundException();
+        }
+        return cards;
     }
 
     @Override
     public String getBalance(Long cardId, String username) {
-        return cardRepository.findByIdAndUserName(cardId, username)
-                .map(CardEntity::getBalance)
+        return cardBalanceCache.getBalance(cardId, username)
                 .map(BigInteger::toString)
                 .orElseThrow(CardNotFoundException::getCardNotFoundException);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<CardDto> getAllUserCardsPaged(String username, Pageable pageable) {
-        UserEntity userEntity = userRepository.findUserByName(username)
+        Long userId = userRepository.findIdByName(username)
                 .orElseThrow(UserNotFoundException::getUserNotFoundException);
 
-        return cardRepository.findAllByUser(userEntity, pageable)
-                .map(cardMapper::toDto);
+        return cardRepository.findAllCardDtoByUserId(userId, pageable);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<CardDto> getUserCardsFiltredPaged(CardFilterDto cardFilterDto, String username, Pageable pageable) {
-        Long userId = userRepository.findUserByName(username)
-                .map(UserEntity::getId)
-                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+        return cardRepository.findCardDtoPage(getFilterSpecification(cardFilterDto, username), pageable);
+    }
 
-        return cardRepository.findAllByCardNumberAndStatusAndBalanceAndExpiryDateAndUser(
-                        cardFilterDto.getCardNumber(),
-                        cardFilterDto.getStatus(),
-                        cardFilterDto.getBalance(),
-                        cardFilterDto.getExpiryDate(),
-                        userId,
-                        pageable
-                )
-                .map(cardMapper::toDto);
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<CardDto> getUserCardsFiltredSlice(CardFilterDto cardFilterDto, String username, Pageable pageable) {
+        return cardRepository.findCardDtoSlice(getFilterSpecification(cardFilterDto, username), pageable);
     }
 
-    private List<CardDto> getCardList(UserEntity userEntity) {
-        return userEntity.getCards().stream()
-                .map(cardMapper::toDto)
-                .toList();
+    private Specification<CardEntity> getFilterSpecification(CardFilterDto cardFilterDto, String username) {
+        Long userId = userRepository.findIdByName(username)
+                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+        return CardSpecifications.byUserAndFilter(userId, cardFilterDto);
     }
 
     private CardEntity setUserToCardEntity(Long userId, CardEntity entity) {
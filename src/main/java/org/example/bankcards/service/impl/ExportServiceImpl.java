@@ -0,0 +1,130 @@
+package org.example.bankcards.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.bankcards.dto.CardExportDto;
+import org.example.bankcards.dto.CardTransferExportDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.CardTransferEntity;
+import org.example.bankcards.enums.ExportFormatEnum;
+import org.example.bankcards.mapper.CardMapper;
+import org.example.bankcards.mapper.CardTransferMapper;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.repository.CardTransferRepository;
+import org.example.bankcards.service.ExportService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Реализация {@link ExportService}.
+ * <p>
+ * Записи читаются из базы данных потоком и сразу пишутся в выходной поток. Каждая сущность отсоединяется
+ * от контекста персистентности после преобразования, а сам контекст периодически очищается,
+ * поэтому потребление памяти не зависит от размера таблицы.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private static final List<String> CARD_COLUMNS =
+            List.of("id", "userId", "cardNumber", "status", "balance", "expiryDate");
+    private static final List<String> TRANSFER_COLUMNS =
+            List.of("id", "userId", "cardNumberFrom", "cardNumberTo", "amount", "transferTime");
+
+    private final CardRepository cardRepository;
+    private final CardTransferRepository cardTransferRepository;
+    private final CardMapper cardMapper;
+    private final CardTransferMapper cardTransferMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportCards(ExportFormatEnum format, OutputStream out) throws IOException {
+        try (Stream<CardEntity> cards = cardRepository.streamAll()) {
+            export(cards, cardMapper::toExportDto, format, CARD_COLUMNS, this::toRow, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportTransfers(ExportFormatEnum format, OutputStream out) throws IOException {
+        try (Stream<CardTransferEntity> transfers = cardTransferRepository.streamAll()) {
+            export(transfers, cardTransferMapper::toExportDto, format, TRANSFER_COLUMNS, this::toRow, out);
+        }
+    }
+
+    private <E, D> void export(Stream<E> entities, Function<E, D> toDto, ExportFormatEnum format,
+                               List<String> columns, Function<D, List<Object>> toRow,
+                               OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormatEnum.CSV) {
+            writeCsvRow(writer, columns);
+        }
+
+        int count = 0;
+        Iterator<E> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            E entity = iterator.next();
+            D dto = toDto.apply(entity);
+            entityManager.detach(entity);
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+
+            if (format == ExportFormatEnum.CSV) {
+                writeCsvRow(writer, toRow.apply(dto));
+            } else {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private List<Object> toRow(CardExportDto card) {
+        return Arrays.asList(card.getId(), card.getUserId(), card.getCardNumber(), card.getStatus(),
+                card.getBalance(), card.getExpiryDate());
+    }
+
+    private List<Object> toRow(CardTransferExportDto transfer) {
+        return Arrays.asList(transfer.getId(), transfer.getUserId(), transfer.getCardNumberFrom(),
+                transfer.getCardNumberTo(), transfer.getAmount(), transfer.getTransferTime());
+    }
+
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.bankcards.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.entity.IdempotencyKeyEntity;
+import org.example.bankcards.exception.custom_exceptions.IdempotencyKeyConflictException;
+import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
+import org.example.bankcards.mapper.CardTransferMapper;
+import org.example.bankcards.metrics.MeasuredOperation;
+import org.example.bankcards.repository.CardTransferRepository;
+import org.example.bankcards.repository.IdempotencyKeyRepository;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.retry.RetryOnConcurrencyFailure;
+import org.example.bankcards.service.CardBusinessService;
+import org.example.bankcards.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Реализация {@link IdempotencyService}.
+ * <p>
+ * Ключ сохраняется в той же транзакции, что и перевод, до его выполнения. Параллельный запрос с тем же
+ * ключом ждёт на уникальном индексе {@code (user_id, idempotency_key)} и после фиксации первой транзакции
+ * возвращает её результат. Если перевод завершился ошибкой, ключ не сохраняется и запрос можно повторить.
+ * Недавние результаты дополнительно хранятся в памяти ({@code idempotency.cache.*}), а ключи старше
+ * {@code idempotency.ttl} периодически удаляются из базы данных.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService, MeterBinder {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final CardBusinessService cardBusinessService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final CardTransferRepository cardTransferRepository;
+    private final UserRepository userRepository;
+    private final CardTransferMapper cardTransferMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration ttl;
+    private final Cache<String, StoredResult> recentResults;
+
+    public IdempotencyServiceImpl(CardBusinessService cardBusinessService,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  CardTransferRepository cardTransferRepository,
+                                  UserRepository userRepository,
+                                  CardTransferMapper cardTransferMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${idempotency.cache.ttl:10m}") Duration cacheTtl,
+                                  @Value("${idempotency.cache.maximum-size:10000}") long cacheMaximumSize) {
+        this.cardBusinessService = cardBusinessService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.cardTransferRepository = cardTransferRepository;
+        this.userRepository = userRepository;
+        this.cardTransferMapper = cardTransferMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.ttl = ttl;
+        this.recentResults = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @MeasuredOperation("bankcards.transfer.idempotent")
+    @RetryOnConcurrencyFailure
+    @Override
+    public CardTransferDto transfer(String idempotencyKey, CardTransferDto cardTransferDto, String username) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Заголовок Idempotency-Key должен содержать от 1 до " + MAX_KEY_LENGTH + " символов");
+        }
+
+        Long userId = userRepository.findIdByName(username)
+                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+        String cacheKey = userId + ":" + idempotencyKey;
+        String requestHash = hash(cardTransferDto);
+
+        StoredResult result = recentResults.getIfPresent(cacheKey);
+        if (result == null) {
+            result = findStoredResult(userId, idempotencyKey)
+                    .orElseGet(() -> execute(userId, idempotencyKey, requestHash, cardTransferDto, username));
+            recentResults.put(cacheKey, result);
+        }
+
+        if (!result.requestHash().equals(requestHash)) {
+            throw IdempotencyKeyConflictException.getIdempotencyKeyConflictException();
+        }
+        return result.transfer();
+    }
+
+    /**
+     * Публикует статистику кэша в реестре метрик под именем {@code idempotency_results}.
+     *
+     * @param registry реестр метрик
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, recentResults, "idempotency_results");
+    }
+
+    /**
+     * Удаляет ключи идемпотентности старше {@code idempotency.ttl}.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}")
+    public void deleteExpiredKeys() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.deleteAllByCreatedAtBefore(LocalDateTime.now().minus(ttl)));
+        log.info("Удалено устаревших ключей идемпотентности: {}", deleted);
+    }
+
+    private StoredResult execute(Long userId,
+                                 String idempotencyKey,
+                                 String requestHash,
+                                 CardTransferDto cardTransferDto,
+                                 String username) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyKeyEntity key = idempotencyKeyRepository.saveAndFlush(IdempotencyKeyEntity.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                CardTransferDto transfer = cardBusinessService.transfer(cardTransferDto, username);
+                key.setCardTransfer(cardTransferRepository.getReferenceById(transfer.getId()));
+                return new StoredResult(requestHash, transfer);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            return findStoredResult(userId, idempotencyKey).orElseThrow(() -> ex);
+        }
+    }
+
+    /**
+     * Вызывается вне транзакции перевода: до её начала или после отката. Перевод преобразуется в DTO
+     * в той же транзакции, в которой загружен ключ, поэтому результат не зависит от open-in-view.
+     */
+    private Optional<StoredResult> findStoredResult(Long userId, String idempotencyKey) {
+        return readOnlyTransactionTemplate.execute(status ->
+                idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                        .filter(key -> key.getCardTransfer() != null)
+                        .map(key -> new StoredResult(key.getRequestHash(),
+                                cardTransferMapper.toDto(key.getCardTransfer()))));
+    }
+
+    private String hash(CardTransferDto cardTransferDto) {
+        String request = cardTransferDto.getCardNumberFrom()
+                + "|" + cardTransferDto.getCardNumberTo()
+                + "|" + cardTransferDto.getAmount();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Результат ранее выполненного запроса вместе с хэшем его данных.
+     */
+    private record StoredResult(String requestHash, CardTransferDto transfer) {
+    }
+}
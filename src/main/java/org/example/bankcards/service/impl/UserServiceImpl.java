@@ -2,19 +2,27 @@ package org.example.bankcards.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.entity.UserEntity;
 import org.example.bankcards.exception.custom_exceptions.RoleNotFoundException;
 import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
 import org.example.bankcards.mapper.UserMapper;
 import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.security.service.CachedUserDetailsService;
+import org.example.bankcards.security.service.TokenVersionService;
 import org.example.bankcards.service.UserService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Пароль хэшируется до начала транзакции: {@link PasswordEncoder} ждёт свободного потока пула хэширования,
+ * и соединение с базой данных на это время не занимается.
+ */
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
@@ -24,16 +32,22 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final CachedUserDetailsService cachedUserDetailsService;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
     @Override
     public UserDto createUser(UserDto userDto) {
+        return userMapper.toDto(registerUser(userDto));
+    }
+
+    @Override
+    public UserEntity registerUser(UserDto userDto) {
         checkCorrectRole(userDto);
         return Optional.of(userDto)
                 .map(this::setUserEncodePassword)
                 .map(userMapper::toEntity)
                 .map(userRepository::save)
-                .map(userMapper::toDto)
                 .orElseThrow();
     }
 
@@ -41,19 +55,34 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(Long id) {
         userRepository.findById(id)
-                .ifPresentOrElse(userRepository::delete, UserNotFoundException::getUserNotFoundException);
+                .ifPresentOrElse(entity -> {
+                    userRepository.delete(entity);
+                    evictUserCaches(entity);
+                }, UserNotFoundException::getUserNotFoundException);
     }
 
-    @Transactional
     @Override
     public UserDto updateUser(UserDto userDto, Long id) {
         checkCorrectRole(userDto);
         UserDto updatedUser = setUserEncodePassword(userDto);
-        return userRepository.findById(id)
+        return transactionTemplate.execute(status -> userRepository.findById(id)
+                .map(this::revokeTokens)
                 .map(entity -> userMapper.mergeToEntity(updatedUser, entity))
+                .map(this::evictUserCaches)
                 .map(userRepository::save)
                 .map(userMapper::toDto)
-                .orElseThrow(UserNotFoundException::getUserNotFoundException);
+                .orElseThrow(UserNotFoundException::getUserNotFoundException));
+    }
+
+    private UserEntity revokeTokens(UserEntity entity) {
+        entity.setTokenVersion(entity.getTokenVersion() + 1);
+        return evictUserCaches(entity);
+    }
+
+    private UserEntity evictUserCaches(UserEntity entity) {
+        tokenVersionService.evict(entity.getName());
+        cachedUserDetailsService.evict(entity.getName());
+        return entity;
     }
 
     private void checkCorrectRole(UserDto userDto) {
@@ -79,9 +108,7 @@ public class UserServiceImpl implements UserService {
     }
 
     private UserDto setUserEncodePassword(UserDto user) {
-        System.out.println(user.getPassword());
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        System.out.println(user.getPassword());
         return user;
     }
 }
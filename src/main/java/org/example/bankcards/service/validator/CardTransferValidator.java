@@ -0,0 +1,85 @@
+package org.example.bankcards.service.validator;
+
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.exception.custom_exceptions.CardIsNotActiveException;
+import org.example.bankcards.exception.custom_exceptions.CardNotFoundException;
+import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * Проверки и изменение балансов, общие для одиночного и пакетного перевода средств между картами.
+ */
+@Component
+public class CardTransferValidator {
+
+    /**
+     * Проверяет, что карты отправителя и получателя различаются.
+     *
+     * @param cardNumberFrom номер карты отправителя
+     * @param cardNumberTo   номер карты получателя
+     * @throws RuntimeException если номера карт совпадают
+     */
+    public void checkDifferentCards(String cardNumberFrom, String cardNumberTo) {
+        if (cardNumberFrom.equals(cardNumberTo)) {
+            throw new RuntimeException("Карты не могут быть одинаковыми");
+        }
+    }
+
+    /**
+     * Проверяет, что карта активна.
+     *
+     * @param card карта {@link CardEntity}
+     * @throws CardIsNotActiveException если статус карты отличается от {@link CardStatusEnum#ACTIVE}
+     */
+    public void checkIsActiveCard(CardEntity card) {
+        if (!card.getStatus().equals(CardStatusEnum.ACTIVE)) {
+            throw CardIsNotActiveException.getCardIsNotActiveException();
+        }
+    }
+
+    /**
+     * Проверяет, что после списания суммы баланс карты не станет отрицательным.
+     *
+     * @param card   карта отправителя {@link CardEntity}
+     * @param amount сумма списания
+     * @throws NegativeBalanceException если на карте недостаточно средств
+     */
+    public void checkSufficientBalance(CardEntity card, BigInteger amount) {
+        if (card.getBalance().compareTo(amount) < 0) {
+            throw NegativeBalanceException.getNegativeBalanceException();
+        }
+    }
+
+    /**
+     * Переводит сумму между загруженными картами: находит карты по номерам, проверяет баланс
+     * отправителя и изменяет балансы обеих карт в памяти.
+     *
+     * @param cards          загруженные карты по номеру карты
+     * @param cardNumberFrom номер карты отправителя
+     * @param cardNumberTo   номер карты получателя
+     * @param amount         сумма перевода
+     * @throws CardNotFoundException    если одной из карт нет среди загруженных
+     * @throws NegativeBalanceException если на карте отправителя недостаточно средств
+     */
+    public void applyTransfer(Map<String, CardEntity> cards, String cardNumberFrom, String cardNumberTo,
+                              BigInteger amount) {
+        CardEntity from = findCard(cards, cardNumberFrom);
+        CardEntity to = findCard(cards, cardNumberTo);
+
+        checkSufficientBalance(from, amount);
+        from.setBalance(from.getBalance().subtract(amount));
+        to.setBalance(to.getBalance().add(amount));
+    }
+
+    private CardEntity findCard(Map<String, CardEntity> cards, String cardNumber) {
+        CardEntity card = cards.get(cardNumber);
+        if (card == null) {
+            throw CardNotFoundException.getCardNotFoundException();
+        }
+        return card;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.bankcards.util;
+
+import org.example.bankcards.exception.custom_exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Кодирование курсоров keyset-пагинации.
+ * <p>
+ * Курсор — значения ключа сортировки последней записи страницы, записанные через {@code |}
+ * и закодированные в Base64 (URL-safe, без выравнивания). Клиент передаёт курсор обратно без изменений
+ * и не должен полагаться на его формат.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Кодирует значения ключа сортировки в курсор.
+     *
+     * @param values значения ключа сортировки последней записи страницы
+     * @return непрозрачный курсор
+     */
+    public static String encode(Object... values) {
+        String raw = Arrays.stream(values)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Раскодирует курсор в значения ключа сортировки.
+     *
+     * @param cursor курсор, полученный от клиента
+     * @param size   ожидаемое количество значений
+     * @return значения ключа сортировки в виде строк
+     * @throws InvalidCursorException если курсор повреждён или содержит другое количество значений
+     */
+    public static String[] decode(String cursor, int size) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] values = raw.split("\\" + SEPARATOR, -1);
+            if (values.length != size) {
+                throw InvalidCursorException.getInvalidCursorException();
+            }
+            return values;
+        } catch (IllegalArgumentException ex) {
+            throw InvalidCursorException.getInvalidCursorException();
+        }
+    }
+
+    /**
+     * Раскодирует курсор, состоящий из одного идентификатора.
+     *
+     * @param cursor курсор, полученный от клиента
+     * @return идентификатор последней записи предыдущей страницы
+     * @throws InvalidCursorException если курсор повреждён
+     */
+    public static Long decodeId(String cursor) {
+        try {
+            return Long.valueOf(decode(cursor, 1)[0]);
+        } catch (NumberFormatException ex) {
+            throw InvalidCursorException.getInvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.bankcards.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Вспомогательные методы для работы с текущей транзакцией.
+ */
+public final class TransactionUtils {
+
+    private TransactionUtils() {
+    }
+
+    /**
+     * Выполняет действие после успешной фиксации текущей транзакции.
+     * <p>
+     * Если активной транзакции нет, действие выполняется сразу.
+     * Используется для сброса локальных кэшей: сброс до фиксации позволил бы
+     * параллельному запросу заново закэшировать ещё не изменённые данные.
+     *
+     * @param action действие, которое нужно выполнить {@link Runnable}
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.bankcards;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Базовый класс интеграционных тестов, работающих с настоящим PostgreSQL.
+ * <p>
+ * По умолчанию база поднимается в контейнере Testcontainers; если Docker недоступен, тесты пропускаются.
+ * Вместо контейнера можно указать уже запущенную базу:
+ * {@code mvn test -Dtest.datasource.url=jdbc:postgresql://localhost:5432/postgres}
+ * (а также {@code test.datasource.username} и {@code test.datasource.password}).
+ * <p>
+ * Тестовые пользователи и карты создаются и удаляются через {@link #fixture}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class AbstractPostgresIntegrationTest {
+
+    private static final String EXTERNAL_URL = System.getProperty("test.datasource.url");
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    protected TestDataFixture fixture;
+
+    @BeforeAll
+    static void assumeDatabaseAvailable() {
+        Assumptions.assumeTrue(EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable(),
+                "Docker недоступен и test.datasource.url не задан");
+    }
+
+    @BeforeEach
+    void initTestDataFixture() {
+        fixture = new TestDataFixture(applicationContext);
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("test.datasource.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.datasource.password", "password"));
+            return;
+        }
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.bankcards;
+
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.repository.UserRepository;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Тестовые данные для интеграционных тестов, бенчмарков и нагрузочного прогона.
+ * <p>
+ * Пользователь получает уникальное имя с заданным префиксом, чтобы параллельные прогоны не пересекались.
+ * {@link #deleteUserData} удаляет всё, что ссылается на пользователя, в порядке внешних ключей.
+ */
+public class TestDataFixture {
+
+    private static final String USER_IDS_BY_ID = "SELECT id FROM bankcards.users WHERE id = ?";
+    private static final String USER_IDS_BY_NAME = "SELECT id FROM bankcards.users WHERE name LIKE ?";
+
+    private final UserRepository userRepository;
+    private final CardRepository cardRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TestDataFixture(BeanFactory beanFactory) {
+        this.userRepository = beanFactory.getBean(UserRepository.class);
+        this.cardRepository = beanFactory.getBean(CardRepository.class);
+        this.jdbcTemplate = beanFactory.getBean(JdbcTemplate.class);
+    }
+
+    /**
+     * Сохраняет пользователя с ролью {@code ROLE_USER} и именем {@code <prefix>-<UUID>}.
+     */
+    public UserEntity createUser(String prefix) {
+        String name = prefix + "-" + UUID.randomUUID();
+        return userRepository.save(UserEntity.builder()
+                .name(name)
+                .email(name + "@example.com")
+                .password("password")
+                .role("ROLE_USER")
+                .build());
+    }
+
+    /**
+     * Создаёт активную карту пользователя со случайным номером, не сохраняя её.
+     */
+    public CardEntity newCard(UserEntity user, BigInteger balance) {
+        CardEntity card = new CardEntity();
+        card.setUser(user);
+        card.setCardNumber(String.format("%016d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L)));
+        card.setStatus(CardStatusEnum.ACTIVE);
+        card.setBalance(balance);
+        card.setExpiryDate(YearMonth.now().plusYears(3));
+        return card;
+    }
+
+    public List<CardEntity> createCards(UserEntity user, int count, BigInteger balance) {
+        return createCards(user, count, balance, (card, i) -> {
+        });
+    }
+
+    /**
+     * Сохраняет {@code count} карт пользователя; {@code customizer} получает карту и её номер по порядку
+     * до сохранения.
+     */
+    public List<CardEntity> createCards(UserEntity user, int count, BigInteger balance,
+                                        ObjIntConsumer<CardEntity> customizer) {
+        List<CardEntity> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CardEntity card = newCard(user, balance);
+            customizer.accept(card, i);
+            cards.add(card);
+        }
+        return cardRepository.saveAll(cards);
+    }
+
+    public void deleteUserData(UserEntity user) {
+        deleteUsers(USER_IDS_BY_ID, user.getId());
+    }
+
+    /**
+     * Удаляет пользователей, чьё имя подходит под шаблон {@code LIKE}, со всеми их данными.
+     */
+    public void deleteUserData(String namePattern) {
+        deleteUsers(USER_IDS_BY_NAME, namePattern);
+    }
+
+    private void deleteUsers(String userIds, Object arg) {
+        jdbcTemplate.update("DELETE FROM bankcards.idempotency_key WHERE user_id IN (" + userIds + ")"
+                + " OR card_transfer_id IN (SELECT id FROM bankcards.card_transfer WHERE user_id IN (" + userIds + "))",
+                arg, arg);
+        jdbcTemplate.update("DELETE FROM bankcards.user_request WHERE user_id IN (" + userIds + ")", arg);
+        jdbcTemplate.update("DELETE FROM bankcards.card_transfer WHERE user_id IN (" + userIds + ")", arg);
+        jdbcTemplate.update("DELETE FROM bankcards.card WHERE user_id IN (" + userIds + ")", arg);
+        jdbcTemplate.update("DELETE FROM bankcards.users WHERE id IN (" + userIds + ")", arg);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.BankcardsApplication;
+import org.example.bankcards.TestDataFixture;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.CardTransferEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.repository.CardTransferRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Массовое создание карт и переводов через JPA-репозитории.
+ * <p>
+ * Сравнивается только пакетная отправка вставок: в обоих вариантах идентификаторы берутся из пула
+ * последовательности ({@code allocationSize = 50}). При {@code batchSize = 1} каждая строка вставляется
+ * отдельным запросом, при {@code batchSize = 50} — пакетами. Это не воспроизводит прежний
+ * {@code GenerationType.IDENTITY}: при нём на каждую строку добавлялось ещё и чтение сгенерированного
+ * идентификатора, поэтому реальный выигрыш от перехода на последовательности не меньше измеренного.
+ * <p>
+ * Требует запущенный PostgreSQL с настройками из {@code application.yaml}
+ * (или переменных окружения {@code SPRING_DATASOURCE_*}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private CardRepository cardRepository;
+    private CardTransferRepository cardTransferRepository;
+    private TestDataFixture fixture;
+    private UserEntity user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankcardsApplication.class)
+                .profiles("benchmark")
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "logging.level.root=WARN")
+                .run();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        cardRepository = context.getBean(CardRepository.class);
+        cardTransferRepository = context.getBean(CardTransferRepository.class);
+        fixture = new TestDataFixture(context);
+
+        user = fixture.createUser("benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.deleteUserData(user);
+        context.close();
+    }
+
+    @Benchmark
+    public int createCardsAndTransfers() {
+        return transactionTemplate.execute(status -> {
+            List<CardEntity> cards = new ArrayList<>(ROWS);
+            List<CardTransferEntity> transfers = new ArrayList<>(ROWS);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                CardEntity card = fixture.newCard(user, BigInteger.TEN);
+                cards.add(card);
+                transfers.add(CardTransferEntity.builder()
+                        .user(user)
+                        .cardNumberFrom(card.getCardNumber())
+                        .cardNumberTo(card.getCardNumber())
+                        .amount(BigInteger.ONE)
+                        .transferTime(now)
+                        .build());
+            }
+            cardRepository.saveAll(cards);
+            cardTransferRepository.saveAll(transfers);
+            return cards.size() + transfers.size();
+        });
+    }
+}
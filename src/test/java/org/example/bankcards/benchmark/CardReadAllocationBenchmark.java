@@ -0,0 +1,100 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.BankcardsApplication;
+import org.example.bankcards.TestDataFixture;
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.mapper.CardMapper;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.service.CardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Потребление памяти при чтении всех карт пользователя.
+ * <p>
+ * {@code entities} повторяет прежний путь: загрузка {@link UserEntity}, обход коллекции {@code cards}
+ * и преобразование сущностей в DTO. {@code projection} — текущий {@link CardService#getAllUserCards(String)},
+ * который сразу строит {@link CardDto} в запросе. Оба варианта выполняются в транзакции,
+ * как запрос с открытой сессией.
+ * <p>
+ * Объём памяти на запрос показывает профилировщик GC ({@code gc.alloc.rate.norm}):
+ * {@code mvn -P benchmarks test -Djmh.include=CardReadAllocationBenchmark -Djmh.args="-prof gc"}.
+ * Требует запущенный PostgreSQL с настройками из {@code application.yaml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardReadAllocationBenchmark {
+
+    @Param({"100", "500"})
+    public int cards;
+
+    @Param({"entities", "projection"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private UserRepository userRepository;
+    private CardService cardService;
+    private CardMapper cardMapper;
+    private TestDataFixture fixture;
+    private UserEntity user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankcardsApplication.class)
+                .profiles("benchmark")
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        userRepository = context.getBean(UserRepository.class);
+        cardService = context.getBean(CardService.class);
+        cardMapper = context.getBean(CardMapper.class);
+        fixture = new TestDataFixture(context);
+
+        user = fixture.createUser("benchmark");
+        fixture.createCards(user, cards, BigInteger.TEN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.deleteUserData(user);
+        context.close();
+    }
+
+    @Benchmark
+    public List<CardDto> getAllUserCards() {
+        return transactionTemplate.execute(status -> "entities".equals(path)
+                ? userRepository.findUserByName(user.getName()).orElseThrow().getCards().stream()
+                        .map(cardMapper::toDto)
+                        .toList()
+                : cardService.getAllUserCards(user.getName()));
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.bankcards.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.security.jwt.JwtKeyHolder;
+import org.example.bankcards.security.jwt.JwtService;
+import org.example.bankcards.security.jwt.JwtTokenPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость выпуска и проверки JWT-токена.
+ * <p>
+ * {@code legacyPerRequest} воспроизводит прежний путь фильтра: три полных разбора токена,
+ * каждый с декодированием ключа и сборкой нового парсера.
+ * {@code cachedSingleParse} — текущий путь: один разбор закэшированным парсером и проверка.
+ * {@code generate} и {@code parse} измеряют выпуск токена при входе и разбор без проверки владельца.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SIGNING_KEY = "53A73E5F1C4E0A2D3B5F2D784E6A1B423D6F247D1F6E5C3A596D635A75327855";
+
+    private JwtService jwtService;
+    private UserEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtKeyHolder(SIGNING_KEY));
+        user = UserEntity.builder()
+                .id(1L)
+                .name("benchmark")
+                .email("benchmark@example.com")
+                .role("ROLE_USER")
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public JwtTokenPayload parse() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String userName = legacyExtractAllClaims(token).getSubject();
+        String validatedName = legacyExtractAllClaims(token).getSubject();
+        Date expiration = legacyExtractAllClaims(token).getExpiration();
+        return userName.equals(user.getUsername())
+                && validatedName.equals(user.getUsername())
+                && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedSingleParse() {
+        JwtTokenPayload payload = jwtService.parseToken(token);
+        return jwtService.isTokenValid(payload, user);
+    }
+
+    private Claims legacyExtractAllClaims(String jwt) {
+        byte[] keyBytes = Decoders.BASE64.decode(SIGNING_KEY);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
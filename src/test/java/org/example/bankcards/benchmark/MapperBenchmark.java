@@ -0,0 +1,89 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.mapper.CardMapper;
+import org.example.bankcards.mapper.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость преобразований {@link CardMapper} и {@link UserMapper}, сгенерированных MapStruct.
+ * <p>
+ * Мапперы создаются без контекста Spring: у сгенерированных реализаций нет зависимостей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private CardMapper cardMapper;
+    private UserMapper userMapper;
+    private CardEntity card;
+    private CardDto cardDto;
+    private UserEntity user;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        cardMapper = Mappers.getMapper(CardMapper.class);
+        userMapper = Mappers.getMapper(UserMapper.class);
+
+        user = UserEntity.builder()
+                .id(1L)
+                .name("benchmark")
+                .email("benchmark@example.com")
+                .password("password")
+                .role("ROLE_USER")
+                .build();
+        userDto = userMapper.toDto(user);
+
+        card = new CardEntity();
+        card.setId(1L);
+        card.setUser(user);
+        card.setCardNumber("1234567812345678");
+        card.setStatus(CardStatusEnum.ACTIVE);
+        card.setBalance(BigInteger.valueOf(10_000));
+        card.setExpiryDate(YearMonth.of(2030, 1));
+        cardDto = cardMapper.toDto(card);
+    }
+
+    @Benchmark
+    public CardDto cardToDto() {
+        return cardMapper.toDto(card);
+    }
+
+    @Benchmark
+    public CardEntity cardToEntity() {
+        return cardMapper.toEntity(cardDto);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return userMapper.toEntity(userDto);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.BankcardsApplication;
+import org.example.bankcards.TestDataFixture;
+import org.example.bankcards.config.ConnectionLimitingDataSource;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение платформенных и виртуальных потоков при большом числе одновременных запросов.
+ * <p>
+ * Каждая операция — {@code concurrency} одновременных «запросов», каждый из которых читает баланс карты
+ * из базы данных и выполняет {@code blockingMillis} прочего блокирующего ожидания (внешний вызов, запись ответа).
+ * {@code platform} повторяет пул Tomcat по умолчанию (200 потоков), {@code virtual} — поток на запрос.
+ * Соединения в обоих режимах ограничены {@link ConnectionLimitingDataSource}.
+ * <p>
+ * Режим {@code virtual} требует запуска на JDK 21+: {@code mvn -P benchmarks test -Djmh.include=ThreadModeBenchmark}.
+ * На Java 17 запускается только {@code -Djmh.args="-p mode=platform"}. Требует запущенный PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"200", "2000"})
+    public int concurrency;
+
+    @Param({"5"})
+    public int blockingMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService executor;
+    private JdbcTemplate jdbcTemplate;
+    private TestDataFixture fixture;
+    private UserEntity user;
+    private List<Long> cardIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        executor = "virtual".equals(mode)
+                ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        context = new SpringApplicationBuilder(BankcardsApplication.class)
+                .profiles("benchmark")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--datasource.connection-limit.enabled=true");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        fixture = new TestDataFixture(context);
+
+        user = fixture.createUser("benchmark");
+        cardIds = fixture.createCards(user, 100, BigInteger.TEN).stream().map(CardEntity::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        fixture.deleteUserData(user);
+        context.close();
+    }
+
+    @Benchmark
+    public long requests() throws Exception {
+        List<Future<BigInteger>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Long cardId = cardIds.get(i % cardIds.size());
+            futures.add(executor.submit(() -> {
+                BigInteger balance = jdbcTemplate.queryForObject(
+                        "SELECT balance FROM bankcards.card WHERE id = ?", BigInteger.class, cardId);
+                Thread.sleep(blockingMillis);
+                return balance;
+            }));
+        }
+        long total = 0;
+        for (Future<BigInteger> future : futures) {
+            total += future.get().longValue();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.service.impl.CardBusinessServiceImpl;
+import org.example.bankcards.service.validator.CardTransferValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость проверок и изменения балансов при переводе без обращений к базе данных.
+ * <p>
+ * Вызывает те же шаги, что {@link CardBusinessServiceImpl#transfer} после загрузки карт: проверку различия карт,
+ * проверку статуса и {@link CardTransferValidator#applyTransfer}, которым пользуется и пакетный перевод.
+ * Время запросов к базе данных измеряется нагрузочными тестами, а не здесь.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferValidationBenchmark {
+
+    private static final String CARD_NUMBER_FROM = "1234567812345678";
+    private static final String CARD_NUMBER_TO = "8765432187654321";
+    private static final BigInteger AMOUNT = BigInteger.TEN;
+
+    private final CardTransferValidator validator = new CardTransferValidator();
+    private Map<String, CardEntity> cards;
+
+    @Setup
+    public void setUp() {
+        cards = Map.of(CARD_NUMBER_TO, card(1L, CARD_NUMBER_TO), CARD_NUMBER_FROM, card(2L, CARD_NUMBER_FROM));
+    }
+
+    /**
+     * Переводит сумму туда и обратно, поэтому балансы карт не меняются между итерациями.
+     */
+    @Benchmark
+    public BigInteger transferRoundTrip() {
+        transfer(CARD_NUMBER_FROM, CARD_NUMBER_TO);
+        transfer(CARD_NUMBER_TO, CARD_NUMBER_FROM);
+        return cards.get(CARD_NUMBER_FROM).getBalance();
+    }
+
+    private void transfer(String fromCard, String toCard) {
+        validator.checkDifferentCards(fromCard, toCard);
+        cards.values().forEach(validator::checkIsActiveCard);
+        validator.applyTransfer(cards, fromCard, toCard, AMOUNT);
+    }
+
+    private static CardEntity card(Long id, String cardNumber) {
+        CardEntity card = new CardEntity();
+        card.setId(id);
+        card.setCardNumber(cardNumber);
+        card.setStatus(CardStatusEnum.ACTIVE);
+        card.setBalance(BigInteger.valueOf(10_000));
+        card.setExpiryDate(YearMonth.of(2030, 1));
+        return card;
+    }
+}
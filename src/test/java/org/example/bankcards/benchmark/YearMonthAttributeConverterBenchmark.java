@@ -0,0 +1,42 @@
+package org.example.bankcards.benchmark;
+
+import org.example.bankcards.util.converters.YearMonthAttributeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость преобразования срока действия карты {@link YearMonthAttributeConverter}
+ * при записи в базу данных и чтении из неё.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YearMonthAttributeConverterBenchmark {
+
+    private final YearMonthAttributeConverter converter = new YearMonthAttributeConverter();
+    private final YearMonth expiryDate = YearMonth.of(2030, 1);
+    private final String column = "2030-01";
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(expiryDate);
+    }
+
+    @Benchmark
+    public YearMonth toEntityAttribute() {
+        return converter.convertToEntityAttribute(column);
+    }
+}
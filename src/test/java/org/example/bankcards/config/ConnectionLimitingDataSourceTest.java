@@ -0,0 +1,69 @@
+package org.example.bankcards.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private Connection connection;
+
+    @Test
+    void testGetConnection_LimitExhausted_Timeout() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void testClose_ReleasesPermitOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(connection, times(2)).close();
+        assertNotNull(second);
+    }
+
+    @Test
+    void testGetConnection_TargetFails_ReleasesPermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("connection refused")).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void testConnection_DelegatesCalls() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(10));
+
+        assertTrue(dataSource.getConnection().getAutoCommit());
+    }
+}
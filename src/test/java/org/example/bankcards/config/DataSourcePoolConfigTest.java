@@ -0,0 +1,65 @@
+package org.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataSourcePoolConfigTest {
+
+    private final DataSourcePoolConfig.HikariPoolSizingPostProcessor postProcessor =
+            new DataSourcePoolConfig.HikariPoolSizingPostProcessor(4, 2);
+
+    @Test
+    void testPoolSizing_NotConfigured_DerivedFromProcessors() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        postProcessor.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertEquals(9, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void testPoolSizing_Configured_Kept() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(20);
+
+        postProcessor.postProcessBeforeInitialization(dataSource, "dataSource");
+
+        assertEquals(20, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void testTomcatThreads_NotConfigured_DerivedFromPoolSize() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "9");
+        ServerProperties serverProperties = new ServerProperties();
+
+        DataSourcePoolConfig.tomcatThreadsSizingPostProcessor(environment)
+                .postProcessAfterInitialization(serverProperties, "serverProperties");
+
+        assertEquals(36, serverProperties.getTomcat().getThreads().getMax());
+        assertFalse(DataSourcePoolConfig.isPoolUndersized(36, 9, 4));
+    }
+
+    @Test
+    void testTomcatThreads_Configured_Kept() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("server.tomcat.threads.max", "300");
+        ServerProperties serverProperties = new ServerProperties();
+        serverProperties.getTomcat().getThreads().setMax(300);
+
+        DataSourcePoolConfig.tomcatThreadsSizingPostProcessor(environment)
+                .postProcessAfterInitialization(serverProperties, "serverProperties");
+
+        assertEquals(300, serverProperties.getTomcat().getThreads().getMax());
+    }
+
+    @Test
+    void testIsPoolUndersized() {
+        assertTrue(DataSourcePoolConfig.isPoolUndersized(200, 10, 4));
+        assertFalse(DataSourcePoolConfig.isPoolUndersized(40, 10, 4));
+    }
+}
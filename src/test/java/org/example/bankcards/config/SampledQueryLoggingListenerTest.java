@@ -0,0 +1,41 @@
+package org.example.bankcards.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledQueryLoggingListenerTest {
+
+    @Test
+    void testDescribe_ParameterValuesRedacted() throws NoSuchMethodException {
+        QueryInfo queryInfo = new QueryInfo("select * from bankcards.users where name=? and email=?");
+        queryInfo.getParametersList().add(List.of(
+                parameter(1, "secret-name"),
+                parameter(2, "secret@example.com")));
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(7);
+        executionInfo.setSuccess(true);
+
+        String description = SampledQueryLoggingListener.describe(executionInfo, List.of(queryInfo));
+
+        assertEquals("7 ms, пакет 1, параметров 2: select * from bankcards.users where name=? and email=?", description);
+        assertFalse(description.contains("secret"));
+    }
+
+    @Test
+    void testSampled_Rate() {
+        assertTrue(new SampledQueryLoggingListener(1.0).sampled());
+        assertFalse(new SampledQueryLoggingListener(0.0).sampled());
+    }
+
+    private ParameterSetOperation parameter(int index, Object value) throws NoSuchMethodException {
+        return new ParameterSetOperation(
+                PreparedStatement.class.getMethod("setObject", int.class, Object.class), new Object[]{index, value});
+    }
+}
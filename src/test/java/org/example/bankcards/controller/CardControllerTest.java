@@ -1,9 +1,12 @@
 package org.example.bankcards.controller;
 
+import org.example.bankcards.dto.CardTransferBatchDto;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
 import org.example.bankcards.dto.CardTransferDto;
 import org.example.bankcards.dto.UserRequestDto;
 import org.example.bankcards.service.CardBusinessService;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.IdempotencyService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,6 +18,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigInteger;
 import java.security.Principal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +39,8 @@ class CardControllerTest {
     private CardService cardService;
     @Mock
     private CardBusinessService cardBusinessService;
+    @Mock
+    private IdempotencyService idempotencyService;
 
     {
         transferDto.setCardNumberFrom("4567123456789012");
@@ -48,13 +54,40 @@ class CardControllerTest {
         when(principal.getName()).thenReturn(username);
         when(cardBusinessService.transfer(transferDto, username)).thenReturn(transferDto);
 
-        ResponseEntity<CardTransferDto> response = cardController.transfer(transferDto, principal);
+        ResponseEntity<CardTransferDto> response = cardController.transfer(transferDto, null, principal);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(transferDto, response.getBody());
     }
 
+    @Test
+    void testTransfer_WithIdempotencyKey() {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(username);
+        when(idempotencyService.transfer("key-1", transferDto, username)).thenReturn(transferDto);
+
+        ResponseEntity<CardTransferDto> response = cardController.transfer(transferDto, "key-1", principal);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(transferDto, response.getBody());
+        verifyNoInteractions(cardBusinessService);
+    }
+
+    @Test
+    void testTransferBatch_Success() {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(username);
+        CardTransferBatchResultDto result = CardTransferBatchResultDto.builder().completed(1).build();
+        when(cardBusinessService.transferBatch(List.of(transferDto), username)).thenReturn(result);
+
+        ResponseEntity<CardTransferBatchResultDto> response = cardController.transferBatch(
+                CardTransferBatchDto.builder().transfers(List.of(transferDto)).build(), principal);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
     @Test
     void testTransfer_SameCard_Exception() {
         Principal principal = mock(Principal.class);
@@ -68,7 +101,7 @@ class CardControllerTest {
         doThrow(new RuntimeException("Карты не могут быть одинаковыми"))
                 .when(cardBusinessService).transfer(dto, username);
 
-        RuntimeException ex = assertThrows(RuntimeException.class, () -> cardController.transfer(dto, principal));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> cardController.transfer(dto, null, principal));
 
         assertEquals("Карты не могут быть одинаковыми", ex.getMessage());
     }
@@ -80,7 +113,7 @@ class CardControllerTest {
         when(cardBusinessService.transfer(transferDto, username))
                 .thenThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Недостаточно средств"));
 
-        assertThrows(ResponseStatusException.class, () -> cardController.transfer(transferDto, principal));
+        assertThrows(ResponseStatusException.class, () -> cardController.transfer(transferDto, null, principal));
     }
 
     @Test
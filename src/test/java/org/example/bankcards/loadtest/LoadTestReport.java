@@ -0,0 +1,37 @@
+package org.example.bankcards.loadtest;
+
+import java.util.Map;
+
+/**
+ * Отчёт нагрузочного теста, сохраняемый в JSON для сравнения прогонов между коммитами.
+ *
+ * @param label      метка прогона, по умолчанию — короткий хэш коммита
+ * @param startedAt  время начала замера
+ * @param config     параметры прогона
+ * @param operations итоги по операциям
+ */
+record LoadTestReport(String label,
+                      String startedAt,
+                      Map<String, Object> config,
+                      Map<String, OperationResult> operations) {
+
+    /**
+     * Итог одной операции.
+     *
+     * @param requests                 количество запросов за время замера
+     * @param errors                   количество ответов с кодом, отличным от 2xx
+     * @param throughput               успешных запросов в секунду
+     * @param p50Ms                    медиана времени ответа, мс
+     * @param p99Ms                    99-й перцентиль времени ответа, мс
+     * @param maxMs                    максимальное время ответа, мс
+     * @param serializationFailureRate доля ответов 503 из-за сбоя конкурентного доступа
+     */
+    record OperationResult(long requests,
+                           long errors,
+                           double throughput,
+                           double p50Ms,
+                           double p99Ms,
+                           double maxMs,
+                           double serializationFailureRate) {
+    }
+}
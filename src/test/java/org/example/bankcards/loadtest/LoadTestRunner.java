@@ -0,0 +1,326 @@
+package org.example.bankcards.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.bankcards.BankcardsApplication;
+import org.example.bankcards.TestDataFixture;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест переводов, чтения баланса и фильтрации карт.
+ * <p>
+ * Поднимает приложение в том же процессе на PostgreSQL из {@code spring.datasource.url}
+ * (по умолчанию — база из {@code docker-compose.yml}), создаёт через {@code AdminController}
+ * {@code loadtest.users} пользователей по {@code loadtest.cards-per-user} карт и в {@code loadtest.threads}
+ * потоков выполняет смесь запросов {@code POST /api/cards}, {@code GET /api/cards/{id}/balance}
+ * и {@code POST /api/cards/filter}. Первые {@code loadtest.warmup} не учитываются.
+ * <p>
+ * Итоги (пропускная способность, p50/p99, доля ответов 503 из-за сбоев конкурентного доступа)
+ * печатаются и сохраняются в {@code loadtest.output-dir}. Если задан {@code loadtest.baseline},
+ * результаты сравниваются с сохранённым отчётом. Параметры передаются аргументами вида {@code --loadtest.users=50}:
+ * {@code mvn -P loadtest test -Dloadtest.args="--loadtest.threads=32 --loadtest.baseline=target/loadtest/abc1234.json"}.
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "password";
+    private static final long INITIAL_BALANCE = 1_000_000;
+
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TestDataFixture fixture;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+
+    LoadTestRunner(ConfigurableApplicationContext context) {
+        this.environment = context.getEnvironment();
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.fixture = new TestDataFixture(context);
+        this.baseUrl = "http://localhost:" + environment.getRequiredProperty("local.server.port");
+        for (String operation : List.of("transfer", "balance", "filter")) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankcardsApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0", "management.server.port=0")
+                .run(args);
+        try {
+            new LoadTestRunner(context).run(context);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception {
+        int users = environment.getProperty("loadtest.users", Integer.class, 20);
+        int cardsPerUser = environment.getProperty("loadtest.cards-per-user", Integer.class, 4);
+        int threads = environment.getProperty("loadtest.threads", Integer.class, 16);
+        Duration warmup = environment.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10));
+        Duration duration = environment.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(60));
+        int transferWeight = environment.getProperty("loadtest.mix.transfer", Integer.class, 50);
+        int balanceWeight = environment.getProperty("loadtest.mix.balance", Integer.class, 35);
+        int filterWeight = environment.getProperty("loadtest.mix.filter", Integer.class, 15);
+        if (cardsPerUser < 2) {
+            throw new IllegalArgumentException("Для переводов нужно не меньше двух карт на пользователя");
+        }
+
+        String adminToken = createAdmin(context);
+        try {
+            List<SeededUser> seeded = seed(adminToken, users, cardsPerUser);
+            System.out.printf("Создано пользователей: %d, карт: %d. Прогрев %s, замер %s, потоков %d%n",
+                    users, users * cardsPerUser, warmup, duration, threads);
+
+            LocalDateTime startedAt = LocalDateTime.now().plus(warmup);
+            long warmupEnd = System.nanoTime() + warmup.toNanos();
+            long end = warmupEnd + duration.toNanos();
+            int totalWeight = transferWeight + balanceWeight + filterWeight;
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> drive(seeded, warmupEnd, end, transferWeight, transferWeight + balanceWeight, totalWeight));
+            }
+            executor.shutdown();
+            executor.awaitTermination(warmup.plus(duration).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS);
+
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("users", users);
+            config.put("cardsPerUser", cardsPerUser);
+            config.put("threads", threads);
+            config.put("warmup", warmup.toString());
+            config.put("duration", duration.toString());
+            Map<String, Object> mix = new LinkedHashMap<>();
+            mix.put("transfer", transferWeight);
+            mix.put("balance", balanceWeight);
+            mix.put("filter", filterWeight);
+            config.put("mix", mix);
+            Map<String, LoadTestReport.OperationResult> operations = new LinkedHashMap<>();
+            stats.values().forEach(operation -> operations.put(operation.getName(), operation.toResult(duration.toMillis() / 1000.0)));
+            LoadTestReport report = new LoadTestReport(
+                    environment.getProperty("loadtest.label", gitRevision()), startedAt.toString(), config, operations);
+
+            print(report);
+            save(report);
+        } finally {
+            cleanUp();
+        }
+    }
+
+    /**
+     * Создаёт администратора напрямую в базе данных: через API его создать нельзя.
+     *
+     * @return токен администратора
+     */
+    private String createAdmin(ConfigurableApplicationContext context) throws IOException, InterruptedException {
+        String name = "lt-" + runId + "-admin";
+        context.getBean(UserRepository.class).save(UserEntity.builder()
+                .name(name)
+                .email(name + "@example.com")
+                .password(context.getBean(PasswordEncoder.class).encode(PASSWORD))
+                .role("ROLE_ADMIN")
+                .build());
+        return signIn(name);
+    }
+
+    private List<SeededUser> seed(String adminToken, int users, int cardsPerUser) throws IOException, InterruptedException {
+        List<SeededUser> seeded = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String name = "lt-" + runId + "-" + i;
+            // Роль та же, что выдаёт регистрация /auth/sign-up: с ней доступны эндпоинты /api/cards.
+            expectOk(post("/api/admin/users", adminToken, Map.of(
+                    "name", name,
+                    "email", name + "@example.com",
+                    "password", PASSWORD,
+                    "role", "ROLE_ADMIN")));
+            // Идентификаторы скрыты в DTO, поэтому берутся из базы данных.
+            Long userId = jdbcTemplate.queryForObject("SELECT id FROM bankcards.users WHERE name = ?", Long.class, name);
+
+            for (int j = 0; j < cardsPerUser; j++) {
+                expectOk(post("/api/admin/cards/" + userId, adminToken, Map.of(
+                        "cardNumber", String.format("9%015d", ThreadLocalRandom.current().nextLong(1_000_000_000_000_000L)),
+                        "status", "ACTIVE",
+                        "balance", INITIAL_BALANCE,
+                        "expiryDate", "2030-01")));
+            }
+            List<SeededCard> cards = jdbcTemplate.query(
+                    "SELECT id, card_number FROM bankcards.card WHERE user_id = ? ORDER BY id",
+                    (rs, rowNum) -> new SeededCard(rs.getLong("id"), rs.getString("card_number")),
+                    userId);
+            seeded.add(new SeededUser(signIn(name), cards));
+        }
+        return seeded;
+    }
+
+    private void drive(List<SeededUser> users, long warmupEnd, long end,
+                       int transferBound, int balanceBound, int totalWeight) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            SeededUser user = users.get(random.nextInt(users.size()));
+            int choice = random.nextInt(totalWeight);
+            OperationStats operation;
+            HttpRequest request;
+            if (choice < transferBound) {
+                operation = stats.get("transfer");
+                int from = random.nextInt(user.cards().size());
+                int to = (from + 1 + random.nextInt(user.cards().size() - 1)) % user.cards().size();
+                request = jsonRequest("/api/cards", user.token(), Map.of(
+                        "cardNumberFrom", user.cards().get(from).number(),
+                        "cardNumberTo", user.cards().get(to).number(),
+                        "amount", 1));
+            } else if (choice < balanceBound) {
+                operation = stats.get("balance");
+                request = request("/api/cards/" + user.cards().get(random.nextInt(user.cards().size())).id() + "/balance",
+                        user.token()).GET().build();
+            } else {
+                operation = stats.get("filter");
+                request = jsonRequest("/api/cards/filter?page=0&size=10", user.token(), Map.of("status", "ACTIVE"));
+            }
+
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (now >= warmupEnd) {
+                operation.record(System.nanoTime() - now, status);
+            }
+        }
+    }
+
+    private void print(LoadTestReport report) throws IOException {
+        LoadTestReport baseline = null;
+        String baselinePath = environment.getProperty("loadtest.baseline");
+        if (baselinePath != null) {
+            baseline = objectMapper.readValue(Path.of(baselinePath).toFile(), LoadTestReport.class);
+            System.out.printf("Сравнение с %s (%s)%n", baseline.label(), baselinePath);
+        }
+
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s %12s%n",
+                "Операция", "Запросов", "Ошибок", "RPS", "p50, мс", "p99, мс", "max, мс", "Доля 503");
+        for (Map.Entry<String, LoadTestReport.OperationResult> entry : report.operations().entrySet()) {
+            LoadTestReport.OperationResult result = entry.getValue();
+            System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %11.3f%%%n",
+                    entry.getKey(), result.requests(), result.errors(), result.throughput(),
+                    result.p50Ms(), result.p99Ms(), result.maxMs(), result.serializationFailureRate() * 100);
+            LoadTestReport.OperationResult previous = baseline == null ? null : baseline.operations().get(entry.getKey());
+            if (previous != null) {
+                System.out.printf("%-10s %10s %8s %+9.1f%% %+9.1f%% %+9.1f%%%n", "", "", "",
+                        change(previous.throughput(), result.throughput()),
+                        change(previous.p50Ms(), result.p50Ms()),
+                        change(previous.p99Ms(), result.p99Ms()));
+            }
+        }
+    }
+
+    private void save(LoadTestReport report) throws IOException {
+        Path directory = Path.of(environment.getProperty("loadtest.output-dir", "target/loadtest"));
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = directory.resolve(report.label() + "-" + timestamp + ".json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Отчёт сохранён: " + file);
+    }
+
+    private void cleanUp() {
+        fixture.deleteUserData("lt-" + runId + "-%");
+    }
+
+    private String signIn(String name) throws IOException, InterruptedException {
+        HttpResponse<String> response = post("/auth/sign-in", null, Map.of("username", name, "password", PASSWORD));
+        expectOk(response);
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        return httpClient.send(jsonRequest(path, token, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest jsonRequest(String path, String token, Object body) {
+        try {
+            return request(path, token)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private static void expectOk(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.request().uri() + ": " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static String gitRevision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            try (InputStream output = process.getInputStream()) {
+                String revision = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return process.waitFor() == 0 && !revision.isEmpty() ? revision : "local";
+            }
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+
+    private record SeededUser(String token, List<SeededCard> cards) {
+    }
+
+    private record SeededCard(long id, String number) {
+    }
+}
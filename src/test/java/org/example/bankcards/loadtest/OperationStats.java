@@ -0,0 +1,76 @@
+package org.example.bankcards.loadtest;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+
+/**
+ * Задержки и ответы одной операции нагрузочного теста.
+ * <p>
+ * Задержки хранятся целиком, поэтому перцентили точные, а не приблизительные;
+ * на прогон в несколько минут это десятки и сотни тысяч значений.
+ */
+class OperationStats {
+
+    private final String name;
+    private long[] latencies = new long[4096];
+    private int size;
+    private long errors;
+    private long serializationFailures;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Записывает результат запроса.
+     *
+     * @param nanos  время ответа в наносекундах
+     * @param status HTTP-код ответа или 0, если запрос не выполнен
+     */
+    synchronized void record(long nanos, int status) {
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            serializationFailures++;
+        }
+        if (status < 200 || status >= 300) {
+            errors++;
+            return;
+        }
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = nanos;
+    }
+
+    /**
+     * Сводит результаты операции за время замера.
+     *
+     * @param seconds длительность замера в секундах
+     * @return итог операции {@link LoadTestReport.OperationResult}
+     */
+    synchronized LoadTestReport.OperationResult toResult(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        long requests = size + errors;
+        return new LoadTestReport.OperationResult(
+                requests,
+                errors,
+                size / seconds,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1] / 1_000_000.0,
+                requests == 0 ? 0 : (double) serializationFailures / requests);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.bankcards.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebugDiscardingAsyncAppenderTest {
+
+    private final DebugDiscardingAsyncAppender appender = new DebugDiscardingAsyncAppender();
+
+    @Test
+    void testIsDiscardable_DebugAndTrace() {
+        assertTrue(appender.isDiscardable(event(Level.DEBUG)));
+        assertTrue(appender.isDiscardable(event(Level.TRACE)));
+    }
+
+    @Test
+    void testIsDiscardable_InfoAndAbove_Kept() {
+        assertFalse(appender.isDiscardable(event(Level.INFO)));
+        assertFalse(appender.isDiscardable(event(Level.WARN)));
+        assertFalse(appender.isDiscardable(event(Level.ERROR)));
+    }
+
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        return event;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.bankcards.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.bankcards.exception.custom_exceptions.ConcurrentUpdateException;
+import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.example.bankcards.retry.ConcurrencyRetryAspect;
+import org.example.bankcards.retry.RetryOnConcurrencyFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testMeasure_Ok() {
+        MeasuredService service = proxy(new MeasuredService(null));
+
+        assertEquals("ok", service.call());
+
+        assertEquals(1, timer("ok").count());
+    }
+
+    @Test
+    void testMeasure_BusinessException_OutcomeTag() {
+        MeasuredService service = proxy(new MeasuredService(NegativeBalanceException.getNegativeBalanceException()));
+
+        assertThrows(NegativeBalanceException.class, service::call);
+
+        assertEquals(1, timer("negative_balance").count());
+        assertNull(registry.find("test.operation").tag("outcome", "ok").timer());
+    }
+
+    @Test
+    void testMeasure_RetriesExhausted_SingleSerializationFailure() {
+        MeasuredService target = new MeasuredService(new CannotAcquireLockException("40001"));
+        MeasuredService service = proxy(target);
+
+        assertThrows(ConcurrentUpdateException.class, service::call);
+
+        assertEquals(3, target.calls.get());
+        assertEquals(1, timer("serialization_failure").count());
+        assertEquals(3.0, registry.get("bankcards.retry.attempts")
+                .tag("method", "MeasuredService.call").functionCounter().count());
+    }
+
+    private Timer timer(String outcome) {
+        return registry.get("test.operation").tag("outcome", outcome).timer();
+    }
+
+    private MeasuredService proxy(MeasuredService target) {
+        ConcurrencyRetryAspect retryAspect = new ConcurrencyRetryAspect(3, Duration.ZERO, Duration.ZERO, 20, 0.1);
+        retryAspect.bindTo(registry);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OperationMetricsAspect(registry));
+        factory.addAspect(retryAspect);
+        return factory.getProxy();
+    }
+
+    static class MeasuredService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final RuntimeException failure;
+
+        MeasuredService(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @MeasuredOperation("test.operation")
+        @RetryOnConcurrencyFailure
+        String call() {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.bankcards.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.enums.ExportFormatEnum;
+import org.example.bankcards.service.CardBusinessService;
+import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.ExportService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет количество SQL-запросов на основных путях чтения и изменения карт по статистике Hibernate.
+ * <p>
+ * Операции с записью выполняются дважды, а измеряется второй вызов: первый резервирует диапазон
+ * идентификаторов в последовательностях, и обращение к ним не попадает в замер.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CardQueryCountTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardBusinessService cardBusinessService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UserEntity user;
+    private List<CardEntity> cards;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        user = fixture.createUser("queries");
+        cards = fixture.createCards(user, 4, BigInteger.valueOf(1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteUserData(user);
+    }
+
+    @Test
+    void testGetAllUserCards_SingleQuery() {
+        statistics.clear();
+
+        List<CardDto> result = cardService.getAllUserCards(user.getName());
+
+        assertEquals(4, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetAllUserCardsPaged_UserIdAndPageWithoutCount() {
+        statistics.clear();
+
+        Page<CardDto> page = cardService.getAllUserCardsPaged(user.getName(), PageRequest.of(0, 10));
+
+        assertEquals(4, page.getTotalElements());
+        // Идентификатор пользователя и страница карт; COUNT(*) не нужен, так как страница неполная.
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetUserCardsFiltredPaged_ProjectsWithoutEntities() {
+        statistics.clear();
+
+        Page<CardDto> page = cardService.getUserCardsFiltredPaged(
+                CardFilterDto.builder().status(CardStatusEnum.ACTIVE).build(), user.getName(),
+                PageRequest.of(0, 2, Sort.by("id")));
+
+        assertEquals(4, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        // Идентификатор пользователя, страница карт и COUNT(*), так как страница заполнена целиком.
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetBalance_SingleScalarQueryThenCache() {
+        statistics.clear();
+
+        assertEquals("1000", cardService.getBalance(cards.get(0).getId(), user.getName()));
+        assertEquals("1000", cardService.getBalance(cards.get(0).getId(), user.getName()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetBalance_EvictedAfterTransfer() {
+        assertEquals("1000", cardService.getBalance(cards.get(0).getId(), user.getName()));
+
+        cardBusinessService.transfer(transfer(cards.get(0), cards.get(1)), user.getName());
+
+        assertEquals("990", cardService.getBalance(cards.get(0).getId(), user.getName()));
+    }
+
+    @Test
+    void testUserBlockRequest_LoadsOnlyRequestedCard() {
+        cardBusinessService.userBlockRequest(cards.get(0).getId(), user.getName());
+        statistics.clear();
+
+        cardBusinessService.userBlockRequest(cards.get(1).getId(), user.getName());
+
+        // SELECT ... FOR NO KEY UPDATE карты, INSERT заявки и UPDATE статуса; владелец не загружается.
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testTransfer_LoadsOnlyTwoCards() {
+        cardBusinessService.transfer(transfer(cards.get(2), cards.get(3)), user.getName());
+        statistics.clear();
+
+        cardBusinessService.transfer(transfer(cards.get(3), cards.get(2)), user.getName());
+
+        // Идентификатор пользователя, SELECT ... FOR NO KEY UPDATE двух карт, INSERT перевода и пакетный UPDATE балансов.
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testExportCards_OwnersNotLoaded() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statistics.clear();
+
+        exportService.exportCards(ExportFormatEnum.NDJSON, out);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"userId\":" + user.getId() + ","));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(UserEntity.class.getName()).getLoadCount());
+    }
+
+    private CardTransferDto transfer(CardEntity from, CardEntity to) {
+        return CardTransferDto.builder()
+                .cardNumberFrom(from.getCardNumber())
+                .cardNumberTo(to.getCardNumber())
+                .amount(BigInteger.TEN)
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.bankcards.repository;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
+import org.example.bankcards.entity.CardTransferEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.service.CardBusinessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardTransferHistoryTest extends AbstractPostgresIntegrationTest {
+
+    private static final String CARD_A = "4000000000000001";
+    private static final String CARD_B = "4000000000000002";
+    private static final String CARD_C = "4000000000000003";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 7, 1, 12, 0);
+
+    @Autowired
+    private CardBusinessService cardBusinessService;
+    @Autowired
+    private CardTransferRepository cardTransferRepository;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixture.createUser("history");
+
+        List<CardTransferEntity> transfers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            transfers.add(transfer(CARD_A, CARD_B, START.plusHours(i)));
+        }
+        // Два перевода с одинаковым временем: порядок между ними задаёт id.
+        transfers.add(transfer(CARD_C, CARD_A, START.plusHours(2)));
+        cardTransferRepository.saveAll(transfers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteUserData(user);
+    }
+
+    @Test
+    void testHistory_PagesNewestFirstWithoutGapsOrDuplicates() {
+        List<CardTransferHistoryDto> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDto<CardTransferHistoryDto> page = cardBusinessService.getTransferHistory(
+                    new CardTransferHistoryFilterDto(), cursor, 2, user.getName());
+            all.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(6, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            CardTransferHistoryDto previous = all.get(i - 1);
+            CardTransferHistoryDto current = all.get(i);
+            assertTrue(previous.getTransferTime().isAfter(current.getTransferTime())
+                    || previous.getTransferTime().isEqual(current.getTransferTime())
+                    && previous.getId() > current.getId());
+        }
+    }
+
+    @Test
+    void testHistory_TimeRangeAndCardNumberFilters() {
+        CardTransferHistoryFilterDto filter = CardTransferHistoryFilterDto.builder()
+                .from(START.plusHours(1))
+                .to(START.plusHours(4))
+                .build();
+
+        CursorPageDto<CardTransferHistoryDto> page =
+                cardBusinessService.getTransferHistory(filter, null, 10, user.getName());
+
+        assertEquals(4, page.getContent().size());
+        assertFalse(page.isHasNext());
+
+        filter.setCardNumber(CARD_C);
+        page = cardBusinessService.getTransferHistory(filter, null, 10, user.getName());
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(CARD_C, page.getContent().get(0).getCardNumberFrom());
+        assertEquals(new BigInteger("10"), page.getContent().get(0).getAmount());
+    }
+
+    private CardTransferEntity transfer(String from, String to, LocalDateTime transferTime) {
+        return CardTransferEntity.builder()
+                .user(user)
+                .cardNumberFrom(from)
+                .cardNumberTo(to)
+                .amount(new BigInteger("10"))
+                .transferTime(transferTime)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.bankcards.repository;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет по {@code EXPLAIN}, что основные пути доступа к данным обслуживаются индексами.
+ * <p>
+ * На почти пустых тестовых таблицах планировщик всегда предпочёл бы последовательное чтение,
+ * поэтому оно отключается на время транзакции: тест проверяет, что подходящий индекс существует
+ * и применим к условию запроса, а не оценки стоимости.
+ */
+class QueryPlanIndexTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testCardsByUser_UsesUserIdIndex() {
+        String plan = explain("SELECT * FROM bankcards.card WHERE user_id = 1");
+
+        assertTrue(plan.contains("idx_card_user_id_status"), plan);
+    }
+
+    @Test
+    void testCardsByUserAndStatus_UsesUserIdStatusIndex() {
+        String plan = explain("SELECT * FROM bankcards.card WHERE user_id = 1 AND status = 'ACTIVE'");
+
+        assertTrue(plan.contains("idx_card_user_id_status"), plan);
+        assertTrue(plan.contains("Index Cond: ((user_id = 1) AND ((status)::text = 'ACTIVE'::text))"), plan);
+    }
+
+    @Test
+    void testTransferHistory_UsesIndexOrderWithoutSort() {
+        String plan = explain("""
+                SELECT * FROM bankcards.card_transfer
+                WHERE user_id = 1
+                ORDER BY transfer_time DESC, id DESC
+                LIMIT 20
+                """);
+
+        assertTrue(plan.contains("idx_card_transfer_user_id_transfer_time_id"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void testUserRequestsByUser_UsesUserIdIndex() {
+        String plan = explain("SELECT * FROM bankcards.user_request WHERE user_id = 1");
+
+        assertTrue(plan.contains("idx_user_request_user_id_request_time"), plan);
+    }
+
+    @Test
+    void testIdempotencyKeysByTransfer_UsesCardTransferIdIndex() {
+        String plan = explain("SELECT * FROM bankcards.idempotency_key WHERE card_transfer_id = 1");
+
+        assertTrue(plan.contains("idx_idempotency_key_card_transfer_id"), plan);
+    }
+
+    private String explain(String sql) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.bankcards.repository.specification;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardFilterDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.service.CardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigInteger;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardSpecificationsTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private CardService cardService;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixture.createUser("filter");
+        fixture.createCards(user, 5, BigInteger.ZERO, (card, index) -> {
+            int i = index + 1;
+            card.setStatus(i % 2 == 0 ? CardStatusEnum.BLOCKED : CardStatusEnum.ACTIVE);
+            card.setBalance(BigInteger.valueOf(i * 100L));
+            card.setExpiryDate(YearMonth.of(2025 + i, 1));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteUserData(user);
+    }
+
+    @Test
+    void testFilter_EmptyFilter_ReturnsAllUserCards() {
+        Page<CardDto> page = cardService.getUserCardsFiltredPaged(new CardFilterDto(), user.getName(), pageRequest(10));
+
+        assertEquals(5, page.getTotalElements());
+    }
+
+    @Test
+    void testFilter_BalanceAndExpiryRanges() {
+        CardFilterDto filter = CardFilterDto.builder()
+                .balanceFrom(BigInteger.valueOf(200))
+                .balanceTo(BigInteger.valueOf(400))
+                .expiryDateFrom(YearMonth.of(2028, 1))
+                .build();
+
+        Page<CardDto> page = cardService.getUserCardsFiltredPaged(filter, user.getName(), pageRequest(10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(BigInteger.valueOf(300), page.getContent().get(0).getBalance());
+        assertEquals(BigInteger.valueOf(400), page.getContent().get(1).getBalance());
+    }
+
+    @Test
+    void testFilter_StatusAndExactExpiry() {
+        CardFilterDto filter = CardFilterDto.builder()
+                .status(CardStatusEnum.BLOCKED)
+                .expiryDate(YearMonth.of(2029, 1))
+                .build();
+
+        Page<CardDto> page = cardService.getUserCardsFiltredPaged(filter, user.getName(), pageRequest(10));
+
+        assertEquals(1, page.getTotalElements());
+        assertEquals(BigInteger.valueOf(400), page.getContent().get(0).getBalance());
+    }
+
+    @Test
+    void testFilterSlice_DetectsNextPage() {
+        CardFilterDto filter = CardFilterDto.builder().status(CardStatusEnum.ACTIVE).build();
+
+        Slice<CardDto> first = cardService.getUserCardsFiltredSlice(filter, user.getName(), pageRequest(2));
+        Slice<CardDto> second = cardService.getUserCardsFiltredSlice(filter, user.getName(), first.nextPageable());
+
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, second.getNumberOfElements());
+        assertFalse(second.hasNext());
+    }
+
+    private PageRequest pageRequest(int size) {
+        return PageRequest.of(0, size, Sort.by("id"));
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.bankcards.retry;
+
+import org.example.bankcards.dto.RetryStatsDto;
+import org.example.bankcards.exception.custom_exceptions.ConcurrentUpdateException;
+import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyRetryAspectTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void testRetry_SucceedsAfterSerializationFailure() {
+        ConcurrencyRetryAspect aspect = aspect(4, 20);
+        FlakyService service = proxy(new FlakyService(2, new CannotAcquireLockException("40001")), aspect);
+
+        assertEquals("ok", service.call());
+
+        RetryStatsDto stats = aspect.getStats().get(0);
+        assertEquals("FlakyService.call", stats.getMethod());
+        assertEquals(3, stats.getAttempts());
+        assertEquals(2, stats.getRetries());
+        assertEquals(0, stats.getGiveUps());
+    }
+
+    @Test
+    void testRetry_GivesUpAfterMaxAttempts() {
+        ConcurrencyRetryAspect aspect = aspect(3, 20);
+        FlakyService target = new FlakyService(10, new JpaSystemException(
+                new RuntimeException(new SQLException("deadlock detected", "40P01"))));
+        FlakyService service = proxy(target, aspect);
+
+        ConcurrentUpdateException ex = assertThrows(ConcurrentUpdateException.class, service::call);
+
+        assertInstanceOf(JpaSystemException.class, ex.getCause());
+        assertEquals(3, target.calls.get());
+        assertEquals(1, aspect.getStats().get(0).getGiveUps());
+    }
+
+    @Test
+    void testRetry_BusinessExceptionNotRetried() {
+        ConcurrencyRetryAspect aspect = aspect(4, 20);
+        FlakyService target = new FlakyService(10, NegativeBalanceException.getNegativeBalanceException());
+        FlakyService service = proxy(target, aspect);
+
+        assertThrows(NegativeBalanceException.class, service::call);
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void testIsRetryable_SqlExceptionWithoutState() {
+        assertFalse(ConcurrencyRetryAspect.isRetryable(
+                new JpaSystemException(new RuntimeException(new SQLException("Connection is not available")))));
+    }
+
+    @Test
+    void testRetry_InsideActiveTransaction_NotRetried() {
+        ConcurrencyRetryAspect aspect = aspect(4, 20);
+        FlakyService target = new FlakyService(10, new CannotAcquireLockException("40001"));
+        FlakyService service = proxy(target, aspect);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(CannotAcquireLockException.class, service::call);
+        assertEquals(1, target.calls.get());
+    }
+
+    @Test
+    void testRetry_BudgetExhausted() {
+        ConcurrencyRetryAspect aspect = aspect(10, 2);
+        FlakyService target = new FlakyService(10, new CannotAcquireLockException("40001"));
+        FlakyService service = proxy(target, aspect);
+
+        assertThrows(ConcurrentUpdateException.class, service::call);
+
+        RetryStatsDto stats = aspect.getStats().get(0);
+        assertEquals(2, stats.getRetries());
+        assertEquals(1, stats.getBudgetExhausted());
+        assertEquals(3, target.calls.get());
+    }
+
+    private ConcurrencyRetryAspect aspect(int maxAttempts, double budgetCapacity) {
+        return new ConcurrencyRetryAspect(maxAttempts, Duration.ZERO, Duration.ZERO, budgetCapacity, 0.1);
+    }
+
+    private FlakyService proxy(FlakyService target, ConcurrencyRetryAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @RetryOnConcurrencyFailure
+    static class FlakyService {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final int failures;
+        private final RuntimeException failure;
+
+        FlakyService(int failures, RuntimeException failure) {
+            this.failures = failures;
+            this.failure = failure;
+        }
+
+        String call() {
+            if (calls.incrementAndGet() <= failures) {
+                throw failure;
+            }
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.bankcards.security.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.security.principal.UserPrincipal;
+import org.example.bankcards.security.service.TokenVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SIGNING_KEY = "53A73E5F1C4E0A2D3B5F2D784E6A1B423D6F247D1F6E5C3A596D635A75327855";
+
+    private final JwtService jwtService = new JwtService(new JwtKeyHolder(SIGNING_KEY));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UserEntity user = UserEntity.builder()
+            .id(7L)
+            .name("testUser")
+            .email("testuser@example.com")
+            .role("ROLE_USER")
+            .build();
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private TokenVersionService tokenVersionService;
+    @Mock
+    private FilterChain filterChain;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_Stateless_PrincipalFromClaims() throws Exception {
+        JwtAuthenticationFilter filter = createFilter(true);
+        when(tokenVersionService.isCurrent("testUser", 0)).thenReturn(true);
+
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testUser", authentication.getName());
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(any(), any());
+        assertEquals(1, meterRegistry.get("bankcards.auth.jwt").tag("outcome", "authenticated").timer().count());
+    }
+
+    @Test
+    void testDoFilter_Stateless_RevokedToken() throws Exception {
+        JwtAuthenticationFilter filter = createFilter(true);
+        when(tokenVersionService.isCurrent("testUser", 0)).thenReturn(false);
+
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain).doFilter(any(), any());
+        assertEquals(1, meterRegistry.get("bankcards.auth.jwt").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void testDoFilter_DatabaseMode_LoadsUser() throws Exception {
+        JwtAuthenticationFilter filter = createFilter(false);
+        when(userDetailsService.loadUserByUsername("testUser")).thenReturn(user);
+
+        filter.doFilter(requestWithToken(), new MockHttpServletResponse(), filterChain);
+
+        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(tokenVersionService);
+    }
+
+    private JwtAuthenticationFilter createFilter(boolean stateless) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersionService,
+                meterRegistry);
+        ReflectionTestUtils.setField(filter, "statelessEnabled", stateless);
+        return filter;
+    }
+
+    private MockHttpServletRequest requestWithToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cards");
+        request.addHeader(JwtAuthenticationFilter.HEADER_NAME,
+                JwtAuthenticationFilter.BEARER_PREFIX + jwtService.generateToken(user));
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.bankcards.security.jwt;
+
+import io.jsonwebtoken.JwtException;
+import org.example.bankcards.entity.UserEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SIGNING_KEY = "53A73E5F1C4E0A2D3B5F2D784E6A1B423D6F247D1F6E5C3A596D635A75327855";
+
+    private final JwtService jwtService = new JwtService(new JwtKeyHolder(SIGNING_KEY));
+
+    private final UserEntity user = UserEntity.builder()
+            .id(42L)
+            .name("testUser")
+            .email("testuser@example.com")
+            .role("ROLE_USER")
+            .build();
+
+    @Test
+    void testParseToken_ReturnsAllClaims() {
+        String token = jwtService.generateToken(user);
+
+        JwtTokenPayload payload = jwtService.parseToken(token);
+
+        assertEquals("testUser", payload.getSubject());
+        assertEquals(42L, payload.getUserId());
+        assertEquals("testuser@example.com", payload.getEmail());
+        assertEquals("ROLE_USER", payload.getRole());
+        assertNotNull(payload.getIssuedAt());
+        assertTrue(payload.getExpiration().after(payload.getIssuedAt()));
+    }
+
+    @Test
+    void testIsTokenValid_Success() {
+        String token = jwtService.generateToken(user);
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertTrue(jwtService.isTokenValid(jwtService.parseToken(token), user));
+        assertEquals("testUser", jwtService.extractUserName(token));
+    }
+
+    @Test
+    void testIsTokenValid_OtherUser() {
+        String token = jwtService.generateToken(user);
+        UserEntity otherUser = UserEntity.builder().name("otherUser").build();
+
+        assertFalse(jwtService.isTokenValid(token, otherUser));
+    }
+
+    @Test
+    void testIsTokenValid_RevokedTokenVersion() {
+        String token = jwtService.generateToken(user);
+        UserEntity updatedUser = UserEntity.builder()
+                .id(42L)
+                .name("testUser")
+                .tokenVersion(1)
+                .build();
+
+        assertFalse(jwtService.isTokenValid(token, updatedUser));
+    }
+
+    @Test
+    void testParseToken_ForeignSignature_Exception() {
+        JwtService foreignService = new JwtService(
+                new JwtKeyHolder("6E5A7234753778214125442A472D4B6150645367566B59703373367639792442"));
+        String token = foreignService.generateToken(user);
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(token));
+    }
+}
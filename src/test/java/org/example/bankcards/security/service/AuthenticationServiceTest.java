@@ -0,0 +1,121 @@
+package org.example.bankcards.security.service;
+
+import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.dto.jwt.SignInRequestDto;
+import org.example.bankcards.dto.jwt.SignUpRequestDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.exception.custom_exceptions.PasswordHashingOverloadedException;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.security.jwt.JwtService;
+import org.example.bankcards.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceTest {
+
+    private final UserEntity user = UserEntity.builder()
+            .id(1L)
+            .name("testUser")
+            .email("testuser@example.com")
+            .password("old-hash")
+            .role("ROLE_USER")
+            .build();
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserService userService;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @InjectMocks
+    private AuthenticationService authenticationService;
+
+    @Test
+    void testSignUp_TokenFromSavedEntity() {
+        when(userService.registerUser(any(UserDto.class))).thenReturn(user);
+        when(jwtService.generateToken(user)).thenReturn("token");
+
+        assertEquals("token", authenticationService.signUp(
+                new SignUpRequestDto("testUser", "testuser@example.com", "password")).getToken());
+
+        ArgumentCaptor<UserDto> captor = ArgumentCaptor.forClass(UserDto.class);
+        verify(userService).registerUser(captor.capture());
+        assertEquals("testUser", captor.getValue().getName());
+        assertEquals("password", captor.getValue().getPassword());
+        verifyNoMoreInteractions(userService);
+        verifyNoInteractions(passwordEncoder);
+    }
+
+    @Test
+    void testSignIn_WeakHash_Rehashed() {
+        when(userRepository.findUserByName("testUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("new-hash");
+        when(jwtService.generateToken(user)).thenReturn("token");
+
+        assertEquals("token", authenticationService.signIn(signIn("password")).getToken());
+
+        verify(passwordUpgradeService).updatePassword(user, "new-hash");
+    }
+
+    @Test
+    void testSignIn_RehashRejected_TokenStillIssued() {
+        when(userRepository.findUserByName("testUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("password"))
+                .thenThrow(PasswordHashingOverloadedException.getPasswordHashingOverloadedException());
+        when(jwtService.generateToken(user)).thenReturn("token");
+
+        assertEquals("token", authenticationService.signIn(signIn("password")).getToken());
+
+        verifyNoInteractions(passwordUpgradeService);
+    }
+
+    @Test
+    void testSignIn_CurrentHash_NotRehashed() {
+        when(userRepository.findUserByName("testUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(false);
+        when(jwtService.generateToken(user)).thenReturn("token");
+
+        authenticationService.signIn(signIn("password"));
+
+        verify(passwordEncoder, never()).encode(any());
+        verifyNoInteractions(passwordUpgradeService);
+    }
+
+    @Test
+    void testSignIn_WrongPassword_NotRehashed() {
+        when(userRepository.findUserByName("testUser")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "old-hash")).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> authenticationService.signIn(signIn("wrong")));
+
+        verifyNoInteractions(passwordUpgradeService, jwtService);
+    }
+
+    private SignInRequestDto signIn(String password) {
+        SignInRequestDto request = new SignInRequestDto();
+        request.setUsername("testUser");
+        request.setPassword(password);
+        return request;
+    }
+}
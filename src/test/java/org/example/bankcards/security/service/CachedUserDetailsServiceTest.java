@@ -0,0 +1,88 @@
+package org.example.bankcards.security.service;
+
+import org.example.bankcards.dto.CacheStatsDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
+import org.example.bankcards.security.principal.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedUserDetailsServiceTest {
+
+    private final String username = "testUser";
+
+    private final UserEntity userEntity = UserEntity.builder()
+            .id(1L)
+            .name(username)
+            .email("testuser@example.com")
+            .password("hash")
+            .role("ROLE_USER")
+            .build();
+
+    @Mock
+    private UserDetailsServiceImpl delegate;
+
+    @Test
+    void testLoadUserByUsername_CachesSlimPrincipal() {
+        CachedUserDetailsService service = new CachedUserDetailsService(delegate, true, Duration.ofMinutes(1), 100);
+        when(delegate.loadUserByUsername(username)).thenReturn(userEntity);
+
+        UserDetails first = service.loadUserByUsername(username);
+        UserDetails second = service.loadUserByUsername(username);
+
+        assertInstanceOf(UserPrincipal.class, first);
+        assertSame(first, second);
+        assertEquals("hash", first.getPassword());
+        verify(delegate, times(1)).loadUserByUsername(username);
+
+        CacheStatsDto stats = service.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testEvict_ReloadsUser() {
+        CachedUserDetailsService service = new CachedUserDetailsService(delegate, true, Duration.ofMinutes(1), 100);
+        when(delegate.loadUserByUsername(username)).thenReturn(userEntity);
+
+        service.loadUserByUsername(username);
+        service.evict(username);
+        service.loadUserByUsername(username);
+
+        verify(delegate, times(2)).loadUserByUsername(username);
+        assertEquals(1, service.getStats().getInvalidationCount());
+    }
+
+    @Test
+    void testLoadUserByUsername_UserNotFound_NotCached() {
+        CachedUserDetailsService service = new CachedUserDetailsService(delegate, true, Duration.ofMinutes(1), 100);
+        when(delegate.loadUserByUsername(username)).thenThrow(UserNotFoundException.getUserNotFoundException());
+
+        assertThrows(UserNotFoundException.class, () -> service.loadUserByUsername(username));
+        assertThrows(UserNotFoundException.class, () -> service.loadUserByUsername(username));
+
+        verify(delegate, times(2)).loadUserByUsername(username);
+        assertEquals(0, service.getStats().getSize());
+    }
+
+    @Test
+    void testLoadUserByUsername_Disabled() {
+        CachedUserDetailsService service = new CachedUserDetailsService(delegate, false, Duration.ofMinutes(1), 100);
+        when(delegate.loadUserByUsername(username)).thenReturn(userEntity);
+
+        service.loadUserByUsername(username);
+        service.loadUserByUsername(username);
+
+        verify(delegate, times(2)).loadUserByUsername(username);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.bankcards.service.cache;
+
+import org.example.bankcards.dto.CacheStatsDto;
+import org.example.bankcards.repository.CardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardBalanceCacheTest {
+
+    private final String username = "testUser";
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Test
+    void testGetBalance_CachesByCardId() {
+        CardBalanceCache cache = new CardBalanceCache(cardRepository, true, Duration.ofMinutes(1), 100);
+        when(cardRepository.findBalanceByIdAndUserName(1L, username)).thenReturn(Optional.of(BigInteger.TEN));
+
+        assertEquals(Optional.of(BigInteger.TEN), cache.getBalance(1L, username));
+        assertEquals(Optional.of(BigInteger.TEN), cache.getBalance(1L, username));
+
+        verify(cardRepository, times(1)).findBalanceByIdAndUserName(1L, username);
+        CacheStatsDto stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    void testGetBalance_CachedCardOfAnotherUser_Empty() {
+        CardBalanceCache cache = new CardBalanceCache(cardRepository, true, Duration.ofMinutes(1), 100);
+        when(cardRepository.findBalanceByIdAndUserName(1L, username)).thenReturn(Optional.of(BigInteger.TEN));
+
+        cache.getBalance(1L, username);
+
+        assertTrue(cache.getBalance(1L, "anotherUser").isEmpty());
+        verify(cardRepository, never()).findBalanceByIdAndUserName(1L, "anotherUser");
+    }
+
+    @Test
+    void testGetBalance_CardNotFound_NotCached() {
+        CardBalanceCache cache = new CardBalanceCache(cardRepository, true, Duration.ofMinutes(1), 100);
+        when(cardRepository.findBalanceByIdAndUserName(1L, username)).thenReturn(Optional.empty());
+
+        assertTrue(cache.getBalance(1L, username).isEmpty());
+        assertTrue(cache.getBalance(1L, username).isEmpty());
+
+        verify(cardRepository, times(2)).findBalanceByIdAndUserName(1L, username);
+        assertEquals(0, cache.getStats().getSize());
+    }
+
+    @Test
+    void testEvict_ReloadsBalance() {
+        CardBalanceCache cache = new CardBalanceCache(cardRepository, true, Duration.ofMinutes(1), 100);
+        when(cardRepository.findBalanceByIdAndUserName(1L, username))
+                .thenReturn(Optional.of(BigInteger.TEN), Optional.of(BigInteger.ONE));
+
+        cache.getBalance(1L, username);
+        cache.evict(List.of(1L, 2L));
+
+        assertEquals(Optional.of(BigInteger.ONE), cache.getBalance(1L, username));
+        assertEquals(2, cache.getStats().getInvalidationCount());
+    }
+
+    @Test
+    void testGetBalance_Disabled() {
+        CardBalanceCache cache = new CardBalanceCache(cardRepository, false, Duration.ofMinutes(1), 100);
+        when(cardRepository.findBalanceByIdAndUserName(1L, username)).thenReturn(Optional.of(BigInteger.TEN));
+
+        cache.getBalance(1L, username);
+        cache.getBalance(1L, username);
+
+        verify(cardRepository, times(2)).findBalanceByIdAndUserName(1L, username);
+        assertEquals(0, cache.getStats().getSize());
+    }
+}
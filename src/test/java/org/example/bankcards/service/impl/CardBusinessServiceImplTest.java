@@ -1,26 +1,40 @@
 package org.example.bankcards.service.impl;
 
 import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CardTransferBatchItemDto;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
 import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.dto.CardTransferHistoryDto;
+import org.example.bankcards.dto.CardTransferHistoryFilterDto;
+import org.example.bankcards.dto.CursorPageDto;
 import org.example.bankcards.dto.UserRequestDto;
+import org.example.bankcards.entity.CardEntity;
 import org.example.bankcards.entity.CardTransferEntity;
 import org.example.bankcards.entity.UserEntity;
 import org.example.bankcards.entity.UserRequestEntity;
 import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.enums.TransferStatusEnum;
 import org.example.bankcards.exception.custom_exceptions.CardIsNotActiveException;
 import org.example.bankcards.exception.custom_exceptions.CardNotFoundException;
+import org.example.bankcards.exception.custom_exceptions.InvalidCursorException;
 import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
 import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
 import org.example.bankcards.mapper.CardTransferMapper;
 import org.example.bankcards.mapper.UserRequestMapper;
+import org.example.bankcards.metrics.TransferMetrics;
+import org.example.bankcards.repository.CardRepository;
 import org.example.bankcards.repository.CardTransferRepository;
 import org.example.bankcards.repository.UserRepository;
 import org.example.bankcards.repository.UserRequestRepository;
 import org.example.bankcards.service.CardService;
+import org.example.bankcards.service.cache.CardBalanceCache;
+import org.example.bankcards.service.validator.CardTransferValidator;
+import org.example.bankcards.util.CursorCodec;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigInteger;
@@ -52,20 +66,6 @@ class CardBusinessServiceImplTest {
             .name(username)
             .build();
 
-    private final CardDto activeCard = CardDto.builder()
-            .id(1L)
-            .cardNumber(cardNumberFrom)
-            .balance(new BigInteger("500"))
-            .status(CardStatusEnum.ACTIVE)
-            .build();
-
-    private final CardDto anotherActiveCard = CardDto.builder()
-            .id(2L)
-            .cardNumber(cardNumberTo)
-            .balance(new BigInteger("200"))
-            .status(CardStatusEnum.ACTIVE)
-            .build();
-
     @InjectMocks
     private CardBusinessServiceImpl cardBusinessService;
 
@@ -74,6 +74,10 @@ class CardBusinessServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private CardRepository cardRepository;
+    @Spy
+    private CardTransferValidator cardTransferValidator = new CardTransferValidator();
+    @Mock
     private UserRequestRepository userRequestRepository;
     @Mock
     private CardTransferRepository cardTransferRepository;
@@ -81,6 +85,10 @@ class CardBusinessServiceImplTest {
     private CardTransferMapper cardTransferMapper;
     @Mock
     private UserRequestMapper userRequestMapper;
+    @Mock
+    private CardBalanceCache cardBalanceCache;
+    @Mock
+    private TransferMetrics transferMetrics;
 
     {
         transferDto.setCardNumberFrom(cardNumberFrom);
@@ -114,9 +122,12 @@ class CardBusinessServiceImplTest {
 
     @Test
     void testTransfer_SuccessfulTransfer() {
-        List<CardDto> cards = List.of(activeCard, anotherActiveCard);
-        when(cardService.getAllUserCards(username)).thenReturn(cards);
-        when(userRepository.findUserByName(username)).thenReturn(Optional.of(userEntity));
+        CardEntity fromCard = cardEntity(cardNumberFrom, "500", CardStatusEnum.ACTIVE);
+        CardEntity toCard = cardEntity(cardNumberTo, "200", CardStatusEnum.ACTIVE);
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(userEntity.getId()));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(userEntity.getId(), List.of(cardNumberFrom, cardNumberTo)))
+                .thenReturn(List.of(toCard, fromCard));
+        when(userRepository.getReferenceById(userEntity.getId())).thenReturn(userEntity);
         when(cardTransferMapper.toDto(any())).thenReturn(transferDto);
         when(cardTransferRepository.save(any())).thenReturn(transferEntity);
 
@@ -126,9 +137,12 @@ class CardBusinessServiceImplTest {
         assertEquals(transferDto.getCardNumberFrom(), result.getCardNumberFrom());
         assertEquals(transferDto.getCardNumberTo(), result.getCardNumberTo());
         assertEquals(transferDto.getAmount(), result.getAmount());
+        assertEquals(new BigInteger("400"), fromCard.getBalance());
+        assertEquals(new BigInteger("300"), toCard.getBalance());
 
-        verify(cardService, times(2)).updateCard(any());
         verify(cardTransferRepository, times(1)).save(any());
+        verify(cardBalanceCache).evict(List.of(fromCard.getId(), toCard.getId()));
+        verifyNoInteractions(cardService);
     }
 
     @Test
@@ -142,27 +156,12 @@ class CardBusinessServiceImplTest {
 
     @Test
     void testTransfer_NegativeBalance_Exception() {
-        CardDto fromCard = CardDto.builder()
-                .cardNumber(cardNumberFrom)
-                .balance(new BigInteger("50"))
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-
-        CardDto toCard = CardDto.builder()
-                .cardNumber(cardNumberTo)
-                .balance(new BigInteger("200"))
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-
-        List<CardDto> cards = List.of(fromCard, toCard);
-
-        UserEntity user = UserEntity.builder()
-                .id(1L)
-                .name(username)
-                .build();
+        CardEntity fromCard = cardEntity(cardNumberFrom, "50", CardStatusEnum.ACTIVE);
+        CardEntity toCard = cardEntity(cardNumberTo, "200", CardStatusEnum.ACTIVE);
 
-        when(cardService.getAllUserCards(username)).thenReturn(cards);
-        when(userRepository.findUserByName(username)).thenReturn(Optional.of(user));
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(eq(1L), any()))
+                .thenReturn(List.of(toCard, fromCard));
 
         CardTransferDto transferDto = CardTransferDto.builder()
                 .cardNumberFrom(cardNumberFrom)
@@ -172,28 +171,13 @@ class CardBusinessServiceImplTest {
 
         assertThrows(NegativeBalanceException.class, () ->
                 cardBusinessService.transfer(transferDto, username));
+        verify(cardTransferRepository, never()).save(any());
     }
 
 
     @Test
     void testTransfer_UserNotFound_Exception() {
-        CardDto fromCard = CardDto.builder()
-                .cardNumber(cardNumberFrom)
-                .balance(new BigInteger("100"))
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-
-        CardDto toCard = CardDto.builder()
-                .cardNumber(cardNumberTo)
-                .balance(new BigInteger("200"))
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-
-        List<CardDto> cards = List.of(fromCard, toCard);
-
-        when(cardService.getAllUserCards(username)).thenReturn(cards);
-
-        when(userRepository.findUserByName(username)).thenReturn(Optional.empty());
+        when(userRepository.findIdByName(username)).thenReturn(Optional.empty());
 
         CardTransferDto transferDto = CardTransferDto.builder()
                 .cardNumberFrom(cardNumberFrom)
@@ -203,54 +187,96 @@ class CardBusinessServiceImplTest {
 
         assertThrows(UserNotFoundException.class, () ->
                 cardBusinessService.transfer(transferDto, username));
+        verifyNoInteractions(cardRepository);
     }
 
     @Test
     void testTransfer_InactiveCard_Exception() {
-        CardDto inactiveCard = CardDto.builder()
-                .cardNumber(cardNumberFrom)
-                .balance(new BigInteger("500"))
-                .status(CardStatusEnum.BLOCKED)
-                .build();
-        CardDto activeCard = CardDto.builder()
-                .cardNumber(cardNumberTo)
-                .balance(new BigInteger("200"))
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-        List<CardDto> cards = List.of(inactiveCard, activeCard);
+        CardEntity inactiveCard = cardEntity(cardNumberFrom, "500", CardStatusEnum.BLOCKED);
+        CardEntity activeCard = cardEntity(cardNumberTo, "200", CardStatusEnum.ACTIVE);
 
-        when(cardService.getAllUserCards(username)).thenReturn(cards);
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(eq(1L), any()))
+                .thenReturn(List.of(activeCard, inactiveCard));
 
         assertThrows(CardIsNotActiveException.class, () -> cardBusinessService.transfer(transferDto, username));
     }
 
     @Test
     void testTransfer_UserHasNotEnoughCards_Exception() {
-        List<CardDto> cards = List.of(activeCard);
-        when(cardService.getAllUserCards(username)).thenReturn(cards);
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(eq(1L), any()))
+                .thenReturn(List.of(cardEntity(cardNumberFrom, "500", CardStatusEnum.ACTIVE)));
 
         assertThrows(CardNotFoundException.class, () -> cardBusinessService.transfer(transferDto, username));
     }
 
+    @Test
+    void testTransferBatch_MixedOutcomes() {
+        String blockedCardNumber = "9999000011112222";
+        CardEntity fromCard = cardEntity(cardNumberFrom, "150", CardStatusEnum.ACTIVE);
+        CardEntity toCard = cardEntity(cardNumberTo, "0", CardStatusEnum.ACTIVE);
+        CardEntity blockedCard = cardEntity(blockedCardNumber, "1000", CardStatusEnum.BLOCKED);
+
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(eq(1L), any()))
+                .thenReturn(List.of(toCard, fromCard, blockedCard));
+
+        List<CardTransferDto> transfers = List.of(
+                batchItem(cardNumberFrom, cardNumberTo, "100"),
+                batchItem(cardNumberFrom, cardNumberTo, "100"),
+                batchItem(blockedCardNumber, cardNumberTo, "10"),
+                batchItem(cardNumberTo, "0000000000000000", "10"),
+                batchItem(cardNumberTo, cardNumberFrom, "50"));
+
+        CardTransferBatchResultDto result = cardBusinessService.transferBatch(transfers, username);
+
+        assertEquals(2, result.getCompleted());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(TransferStatusEnum.COMPLETED, TransferStatusEnum.REJECTED, TransferStatusEnum.REJECTED,
+                        TransferStatusEnum.REJECTED, TransferStatusEnum.COMPLETED),
+                result.getItems().stream().map(CardTransferBatchItemDto::getStatus).toList());
+        assertEquals(NegativeBalanceException.getNegativeBalanceException().getMessage(),
+                result.getItems().get(1).getErrorMessage());
+        assertEquals(new BigInteger("100"), fromCard.getBalance());
+        assertEquals(new BigInteger("50"), toCard.getBalance());
+        assertEquals(new BigInteger("1000"), blockedCard.getBalance());
+
+        verify(cardRepository, times(1)).findAllByUserIdAndCardNumberInForUpdate(eq(1L), any());
+        verify(cardTransferValidator, times(3)).checkIsActiveCard(any());
+        verify(cardTransferRepository).saveAll(argThat(list -> ((List<?>) list).size() == 2));
+    }
+
+    @Test
+    void testTransferBatch_AllRejected_NothingSaved() {
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardRepository.findAllByUserIdAndCardNumberInForUpdate(eq(1L), any())).thenReturn(List.of());
+
+        CardTransferBatchResultDto result = cardBusinessService.transferBatch(
+                List.of(batchItem(cardNumberFrom, cardNumberTo, "10")), username);
+
+        assertEquals(0, result.getCompleted());
+        assertEquals(1, result.getRejected());
+        verify(cardTransferRepository).saveAll(List.of());
+    }
+
     @Test
     void testUserBlockRequest_Success() {
         String username = "testUser";
         Long cardId = 1L;
         String cardNumber = "4567123456789012";
 
-        CardDto card = CardDto.builder()
-                .id(cardId)
-                .cardNumber(cardNumber)
-                .status(CardStatusEnum.ACTIVE)
-                .build();
-
-        List<CardDto> userCards = List.of(card);
-
         UserEntity userEntity = UserEntity.builder()
                 .id(1L)
                 .name(username)
                 .build();
 
+        CardEntity card = new CardEntity();
+        card.setId(cardId);
+        card.setUser(userEntity);
+        card.setCardNumber(cardNumber);
+        card.setStatus(CardStatusEnum.ACTIVE);
+
         UserRequestDto expectedDto = UserRequestDto.builder()
                 .cardNumber(cardNumber)
                 .userId(userEntity.getId())
@@ -259,15 +285,12 @@ class CardBusinessServiceImplTest {
 
         UserRequestEntity userRequestEntity = UserRequestEntity.builder()
                 .id(1L)
-                .cardNumber(card.getCardNumber())
+                .cardNumber(cardNumber)
                 .toStatus(CardStatusEnum.BLOCKED)
                 .requestTime(LocalDateTime.now())
                 .build();
 
-        when(cardService.getCardById(cardId)).thenReturn(card);
-        when(cardService.getAllUserCards(username)).thenReturn(userCards);
-        when(userRepository.findUserByName(username)).thenReturn(Optional.of(userEntity));
-        when(cardService.updateCard(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(cardRepository.findByIdAndUserNameForUpdate(cardId, username)).thenReturn(Optional.of(card));
         when(userRequestMapper.toEntity(any())).thenReturn(userRequestEntity);
         when(userRequestRepository.save(any())).thenReturn(userRequestEntity);
         when(userRequestMapper.toDto(any())).thenReturn(expectedDto);
@@ -278,25 +301,88 @@ class CardBusinessServiceImplTest {
         assertEquals(cardNumber, result.getCardNumber());
         assertEquals(CardStatusEnum.BLOCKED, result.getToStatus());
         assertEquals(userEntity.getId(), result.getUserId());
+        assertEquals(CardStatusEnum.BLOCKED, card.getStatus());
+        verify(userRequestMapper).toEntity(argThat(request -> userEntity.getId().equals(request.getUserId())
+                && cardNumber.equals(request.getCardNumber())));
     }
 
 
     @Test
     void testUserBlockRequest_CardAlreadyBlocked_Exception() {
-        CardDto card = CardDto.builder()
-                .id(1L)
-                .cardNumber(cardNumberFrom)
-                .status(CardStatusEnum.BLOCKED)
-                .build();
+        CardEntity card = new CardEntity();
+        card.setId(1L);
+        card.setCardNumber(cardNumberFrom);
+        card.setStatus(CardStatusEnum.BLOCKED);
 
-        when(cardService.getCardById(1L)).thenReturn(card);
-        when(cardService.getAllUserCards(username)).thenReturn(List.of(card));
+        when(cardRepository.findByIdAndUserNameForUpdate(1L, username)).thenReturn(Optional.of(card));
 
         assertThrows(CardIsNotActiveException.class, () -> cardBusinessService.userBlockRequest(1L, username));
+        verifyNoInteractions(userRequestRepository);
     }
 
     @Test
     void testUserBlockRequest_CardNotFound_Exception() {
         assertThrows(CardNotFoundException.class, () -> cardBusinessService.userBlockRequest(1L, username));
     }
+
+    @Test
+    void testGetTransferHistory_NextCursorFromLastItem() {
+        LocalDateTime time = LocalDateTime.of(2025, 7, 1, 12, 0, 0, 123_000);
+        CardTransferHistoryFilterDto filter = new CardTransferHistoryFilterDto();
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        when(cardTransferRepository.findHistory(1L, filter, null, null, 3)).thenReturn(List.of(
+                historyItem(5L, time), historyItem(4L, time), historyItem(3L, time.minusMinutes(1))));
+
+        CursorPageDto<CardTransferHistoryDto> page = cardBusinessService.getTransferHistory(filter, null, 2, username);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+
+        when(cardTransferRepository.findHistory(1L, filter, time, 4L, 3))
+                .thenReturn(List.of(historyItem(3L, time.minusMinutes(1))));
+
+        CursorPageDto<CardTransferHistoryDto> next =
+                cardBusinessService.getTransferHistory(filter, page.getNextCursor(), 2, username);
+
+        assertEquals(1, next.getContent().size());
+        assertFalse(next.isHasNext());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetTransferHistory_InvalidCursor_Exception() {
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+        String cursor = CursorCodec.encode("yesterday", 4L);
+
+        assertThrows(InvalidCursorException.class, () -> cardBusinessService.getTransferHistory(
+                new CardTransferHistoryFilterDto(), cursor, 2, username));
+        verifyNoInteractions(cardTransferRepository);
+    }
+
+    private CardEntity cardEntity(String cardNumber, String balance, CardStatusEnum status) {
+        CardEntity card = new CardEntity();
+        card.setId(Long.valueOf(cardNumber.substring(12)));
+        card.setCardNumber(cardNumber);
+        card.setBalance(new BigInteger(balance));
+        card.setStatus(status);
+        return card;
+    }
+
+    private CardTransferDto batchItem(String from, String to, String amount) {
+        return CardTransferDto.builder()
+                .cardNumberFrom(from)
+                .cardNumberTo(to)
+                .amount(new BigInteger(amount))
+                .build();
+    }
+
+    private CardTransferHistoryDto historyItem(Long id, LocalDateTime transferTime) {
+        return CardTransferHistoryDto.builder()
+                .id(id)
+                .cardNumberFrom(cardNumberFrom)
+                .cardNumberTo(cardNumberTo)
+                .amount(amount)
+                .transferTime(transferTime)
+                .build();
+    }
 }
@@ -0,0 +1,87 @@
+package org.example.bankcards.service.impl;
+
+import org.example.bankcards.dto.CardDto;
+import org.example.bankcards.dto.CursorPageDto;
+import org.example.bankcards.exception.custom_exceptions.InvalidCursorException;
+import org.example.bankcards.exception.custom_exceptions.UserNotFoundException;
+import org.example.bankcards.mapper.CardMapper;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.service.cache.CardBalanceCache;
+import org.example.bankcards.util.CursorCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardServiceImplTest {
+
+    @Mock
+    private CardMapper cardMapper;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CardBalanceCache cardBalanceCache;
+
+    @InjectMocks
+    private CardServiceImpl cardService;
+
+    @Test
+    void testGetAllCardsAfter_FirstPageWithNext() {
+        when(cardRepository.findAllCardDtoAfterId(0L, Limit.of(3))).thenReturn(List.of(card(1L), card(2L), card(3L)));
+
+        CursorPageDto<CardDto> page = cardService.getAllCardsAfter(null, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(2L, CursorCodec.decodeId(page.getNextCursor()));
+    }
+
+    @Test
+    void testGetAllCardsAfter_LastPage() {
+        when(cardRepository.findAllCardDtoAfterId(2L, Limit.of(3))).thenReturn(List.of(card(3L)));
+
+        CursorPageDto<CardDto> page = cardService.getAllCardsAfter(CursorCodec.encode(2L), 2);
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetAllCardsAfter_InvalidCursor_Exception() {
+        assertThrows(InvalidCursorException.class, () -> cardService.getAllCardsAfter("???", 2));
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void testGetAllUserCards_UnknownUser_Exception() {
+        when(cardRepository.findAllCardDtoByUserName("ghost")).thenReturn(List.of());
+        when(userRepository.findIdByName("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> cardService.getAllUserCards("ghost"));
+    }
+
+    @Test
+    void testGetAllUserCards_UserWithCards_NoExtraLookup() {
+        when(cardRepository.findAllCardDtoByUserName("user")).thenReturn(List.of(card(1L), card(2L)));
+
+        assertEquals(2, cardService.getAllUserCards("user").size());
+        verifyNoInteractions(userRepository);
+    }
+
+    private CardDto card(Long id) {
+        return CardDto.builder().id(id).build();
+    }
+}
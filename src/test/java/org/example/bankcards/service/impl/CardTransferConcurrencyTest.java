@@ -0,0 +1,149 @@
+package org.example.bankcards.service.impl;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.CardTransferBatchResultDto;
+import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.exception.custom_exceptions.NegativeBalanceException;
+import org.example.bankcards.service.CardBusinessService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardTransferConcurrencyTest extends AbstractPostgresIntegrationTest {
+
+    private static final int CARDS = 4;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+    private static final BigInteger INITIAL_BALANCE = new BigInteger("1000");
+
+    @Autowired
+    private CardBusinessService cardBusinessService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private List<String> cardNumbers;
+
+    @BeforeEach
+    void setUp() {
+        user = fixture.createUser("stress");
+        cardNumbers = fixture.createCards(user, CARDS, INITIAL_BALANCE).stream()
+                .map(CardEntity::getCardNumber)
+                .toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteUserData(user);
+    }
+
+    @Test
+    void testConcurrentTransfers_NoLostUpdatesAndNoDeadlocks() throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(CARDS);
+                    int to = (from + 1 + random.nextInt(CARDS - 1)) % CARDS;
+                    CardTransferDto dto = CardTransferDto.builder()
+                            .cardNumberFrom(cardNumbers.get(from))
+                            .cardNumberTo(cardNumbers.get(to))
+                            .amount(BigInteger.valueOf(1 + random.nextInt(50)))
+                            .build();
+                    try {
+                        cardBusinessService.transfer(dto, user.getName());
+                        succeeded.incrementAndGet();
+                    } catch (NegativeBalanceException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "Неожиданные ошибки: " + unexpected);
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, succeeded.get() + rejected.get());
+
+        Map<String, BigInteger> expected = new HashMap<>();
+        cardNumbers.forEach(number -> expected.put(number, INITIAL_BALANCE));
+        List<Map<String, Object>> transfers = jdbcTemplate.queryForList(
+                "SELECT card_number_from, card_number_to, amount FROM bankcards.card_transfer WHERE user_id = ?",
+                user.getId());
+        assertEquals(succeeded.get(), transfers.size());
+        for (Map<String, Object> transfer : transfers) {
+            BigInteger amount = new BigInteger(transfer.get("amount").toString());
+            expected.merge((String) transfer.get("card_number_from"), amount.negate(), BigInteger::add);
+            expected.merge((String) transfer.get("card_number_to"), amount, BigInteger::add);
+        }
+
+        BigInteger total = BigInteger.ZERO;
+        for (String number : cardNumbers) {
+            BigInteger balance = jdbcTemplate.queryForObject(
+                    "SELECT balance FROM bankcards.card WHERE card_number = ?", BigInteger.class, number);
+            assertEquals(expected.get(number), balance, "Баланс карты " + number);
+            assertTrue(balance.signum() >= 0);
+            total = total.add(balance);
+        }
+        assertEquals(INITIAL_BALANCE.multiply(BigInteger.valueOf(CARDS)), total);
+    }
+
+    @Test
+    void testTransferBatch_AppliesCompletedItemsAndInsertsRows() {
+        List<CardTransferDto> transfers = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            transfers.add(CardTransferDto.builder()
+                    .cardNumberFrom(cardNumbers.get(i % CARDS))
+                    .cardNumberTo(cardNumbers.get((i + 1) % CARDS))
+                    .amount(BigInteger.ONE)
+                    .build());
+        }
+        transfers.add(CardTransferDto.builder()
+                .cardNumberFrom(cardNumbers.get(0))
+                .cardNumberTo(cardNumbers.get(1))
+                .amount(INITIAL_BALANCE.add(BigInteger.ONE))
+                .build());
+
+        CardTransferBatchResultDto result = cardBusinessService.transferBatch(transfers, user.getName());
+
+        assertEquals(600, result.getCompleted());
+        assertEquals(1, result.getRejected());
+        assertEquals(600, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bankcards.card_transfer WHERE user_id = ?", Integer.class, user.getId()));
+        for (String number : cardNumbers) {
+            assertEquals(INITIAL_BALANCE, jdbcTemplate.queryForObject(
+                    "SELECT balance FROM bankcards.card WHERE card_number = ?", BigInteger.class, number));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.bankcards.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.example.bankcards.dto.CardExportDto;
+import org.example.bankcards.dto.CardTransferExportDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.CardTransferEntity;
+import org.example.bankcards.enums.CardStatusEnum;
+import org.example.bankcards.enums.ExportFormatEnum;
+import org.example.bankcards.mapper.CardMapper;
+import org.example.bankcards.mapper.CardTransferMapper;
+import org.example.bankcards.repository.CardRepository;
+import org.example.bankcards.repository.CardTransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private CardTransferRepository cardTransferRepository;
+    @Mock
+    private CardMapper cardMapper;
+    @Mock
+    private CardTransferMapper cardTransferMapper;
+    @Mock
+    private EntityManager entityManager;
+
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportServiceImpl(cardRepository, cardTransferRepository, cardMapper,
+                cardTransferMapper, entityManager, objectMapper);
+    }
+
+    @Test
+    void testExportCards_Ndjson_OneObjectPerLineAndDetached() throws Exception {
+        CardEntity first = new CardEntity();
+        first.setId(1L);
+        CardEntity second = new CardEntity();
+        second.setId(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(cardRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        when(cardMapper.toExportDto(first)).thenReturn(cardExportDto(1L));
+        when(cardMapper.toExportDto(second)).thenReturn(cardExportDto(2L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportCards(ExportFormatEnum.NDJSON, out);
+
+        assertEquals("""
+                {"id":1,"userId":7,"cardNumber":"1234567812345678","status":"ACTIVE","balance":100,"expiryDate":"2030-01"}
+                {"id":2,"userId":7,"cardNumber":"1234567812345678","status":"ACTIVE","balance":100,"expiryDate":"2030-01"}
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportTransfers_Csv_HeaderAndRows() throws Exception {
+        CardTransferEntity transfer = CardTransferEntity.builder().build();
+        when(cardTransferRepository.streamAll()).thenReturn(Stream.of(transfer));
+        when(cardTransferMapper.toExportDto(transfer)).thenReturn(CardTransferExportDto.builder()
+                .id(3L)
+                .userId(7L)
+                .cardNumberFrom("8765432187654321")
+                .cardNumberTo("1234567812345678")
+                .amount(new BigInteger("150"))
+                .transferTime(LocalDateTime.of(2025, 7, 1, 12, 0))
+                .build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTransfers(ExportFormatEnum.CSV, out);
+
+        assertEquals("""
+                id,userId,cardNumberFrom,cardNumberTo,amount,transferTime
+                3,7,8765432187654321,1234567812345678,150,2025-07-01T12:00
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(transfer);
+    }
+
+    private CardExportDto cardExportDto(Long id) {
+        return CardExportDto.builder()
+                .id(id)
+                .userId(7L)
+                .cardNumber("1234567812345678")
+                .status(CardStatusEnum.ACTIVE)
+                .balance(new BigInteger("100"))
+                .expiryDate(YearMonth.of(2030, 1))
+                .build();
+    }
+}
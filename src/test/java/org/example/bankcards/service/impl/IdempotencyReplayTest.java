@@ -0,0 +1,78 @@
+package org.example.bankcards.service.impl;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.entity.CardEntity;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.service.CardBusinessService;
+import org.example.bankcards.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Повтор запроса по ключу, сохранённому в базе данных, вне веб-запроса: без open-in-view
+ * сохранённый перевод должен читаться без открытой сессии Hibernate.
+ */
+class IdempotencyReplayTest extends AbstractPostgresIntegrationTest {
+
+    private static final String KEY = "replay-key";
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+    @Autowired
+    private CardBusinessService cardBusinessService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private CardTransferDto request;
+
+    @BeforeEach
+    void setUp() {
+        user = fixture.createUser("replay");
+        List<CardEntity> cards = fixture.createCards(user, 2, BigInteger.valueOf(1000));
+        request = CardTransferDto.builder()
+                .cardNumberFrom(cards.get(0).getCardNumber())
+                .cardNumberTo(cards.get(1).getCardNumber())
+                .amount(BigInteger.TEN)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.deleteUserData(user);
+    }
+
+    @Test
+    void testTransfer_KeyStoredByAnotherInstance_ReplayedWithoutSession() throws Exception {
+        CardTransferDto executed = cardBusinessService.transfer(request, user.getName());
+        jdbcTemplate.update("INSERT INTO bankcards.idempotency_key "
+                        + "(user_id, idempotency_key, request_hash, card_transfer_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, now())",
+                user.getId(), KEY, hash(request), executed.getId());
+
+        CardTransferDto replayed = idempotencyService.transfer(KEY, request, user.getName());
+
+        assertEquals(executed.getId(), replayed.getId());
+        assertEquals(executed.getAmount(), replayed.getAmount());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bankcards.card_transfer WHERE user_id = ?", Integer.class, user.getId()));
+    }
+
+    private String hash(CardTransferDto dto) throws Exception {
+        String value = dto.getCardNumberFrom() + "|" + dto.getCardNumberTo() + "|" + dto.getAmount();
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.bankcards.service.impl;
+
+import org.example.bankcards.dto.CardTransferDto;
+import org.example.bankcards.entity.CardTransferEntity;
+import org.example.bankcards.entity.IdempotencyKeyEntity;
+import org.example.bankcards.exception.custom_exceptions.IdempotencyKeyConflictException;
+import org.example.bankcards.mapper.CardTransferMapper;
+import org.example.bankcards.repository.CardTransferRepository;
+import org.example.bankcards.repository.IdempotencyKeyRepository;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.service.CardBusinessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    private final String username = "testUser";
+    private final String key = "key-1";
+
+    private final CardTransferDto request = CardTransferDto.builder()
+            .cardNumberFrom("4567123456789012")
+            .cardNumberTo("1234567890123456")
+            .amount(new BigInteger("100"))
+            .build();
+
+    private final CardTransferDto result = CardTransferDto.builder()
+            .id(10L)
+            .cardNumberFrom("4567123456789012")
+            .cardNumberTo("1234567890123456")
+            .amount(new BigInteger("100"))
+            .build();
+
+    @Mock
+    private CardBusinessService cardBusinessService;
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private CardTransferRepository cardTransferRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private CardTransferMapper cardTransferMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(cardBusinessService, idempotencyKeyRepository,
+                cardTransferRepository, userRepository, cardTransferMapper, transactionManager,
+                Duration.ofHours(24), Duration.ofMinutes(10), 100);
+        when(userRepository.findIdByName(username)).thenReturn(Optional.of(1L));
+    }
+
+    @Test
+    void testTransfer_RepeatedKey_ExecutedOnce() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, key)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(cardBusinessService.transfer(request, username)).thenReturn(result);
+
+        CardTransferDto first = idempotencyService.transfer(key, request, username);
+        CardTransferDto second = idempotencyService.transfer(key, request, username);
+
+        assertSame(result, first);
+        assertSame(result, second);
+        verify(cardBusinessService, times(1)).transfer(request, username);
+        verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(1L, key);
+        verify(cardTransferRepository).getReferenceById(10L);
+    }
+
+    @Test
+    void testTransfer_StoredKey_ReturnsStoredResult() throws Exception {
+        CardTransferEntity transfer = CardTransferEntity.builder().id(10L).build();
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, key)).thenReturn(Optional.of(
+                IdempotencyKeyEntity.builder().requestHash(hash(request)).cardTransfer(transfer).build()));
+        when(cardTransferMapper.toDto(transfer)).thenReturn(result);
+
+        assertSame(result, idempotencyService.transfer(key, request, username));
+        verifyNoInteractions(cardBusinessService);
+    }
+
+    @Test
+    void testTransfer_SameKeyOtherRequest_Conflict() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, key)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(cardBusinessService.transfer(request, username)).thenReturn(result);
+        idempotencyService.transfer(key, request, username);
+
+        CardTransferDto otherRequest = CardTransferDto.builder()
+                .cardNumberFrom(request.getCardNumberFrom())
+                .cardNumberTo(request.getCardNumberTo())
+                .amount(new BigInteger("999"))
+                .build();
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> idempotencyService.transfer(key, otherRequest, username));
+        verify(cardBusinessService, times(1)).transfer(any(), any());
+    }
+
+    @Test
+    void testTransfer_ConcurrentDuplicate_ReturnsWinnerResult() throws Exception {
+        CardTransferEntity transfer = CardTransferEntity.builder().id(10L).build();
+        when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(cardTransferMapper.toDto(transfer)).thenReturn(result);
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(1L, key))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(IdempotencyKeyEntity.builder()
+                        .requestHash(hash(request))
+                        .cardTransfer(transfer)
+                        .build()));
+
+        assertSame(result, idempotencyService.transfer(key, request, username));
+        verifyNoInteractions(cardBusinessService);
+    }
+
+    @Test
+    void testTransfer_TooLongKey_Exception() {
+        reset(userRepository);
+
+        assertThrows(RuntimeException.class, () -> idempotencyService.transfer("k".repeat(256), request, username));
+        verifyNoInteractions(cardBusinessService, idempotencyKeyRepository);
+    }
+
+    private String hash(CardTransferDto dto) throws Exception {
+        String request = dto.getCardNumberFrom() + "|" + dto.getCardNumberTo() + "|" + dto.getAmount();
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(request.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.bankcards.service.impl;
+
+import org.example.bankcards.AbstractPostgresIntegrationTest;
+import org.example.bankcards.dto.UserDto;
+import org.example.bankcards.entity.UserEntity;
+import org.example.bankcards.repository.UserRepository;
+import org.example.bankcards.security.password.BoundedPasswordEncoder;
+import org.example.bankcards.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Проверяет, что пароль хэшируется до начала транзакции: ожидание в очереди пула хэширования
+ * не должно удерживать соединение с базой данных.
+ */
+class UserServiceImplTest extends AbstractPostgresIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @SpyBean
+    private BoundedPasswordEncoder passwordEncoder;
+
+    private final List<Boolean> transactionActiveOnEncode = new CopyOnWriteArrayList<>();
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            transactionActiveOnEncode.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (user != null) {
+            fixture.deleteUserData(user);
+        }
+    }
+
+    @Test
+    void testRegisterUser_PasswordHashedOutsideTransaction() {
+        String name = "register-" + UUID.randomUUID();
+
+        user = userService.registerUser(userDto(name, "password"));
+
+        assertEquals(List.of(false), transactionActiveOnEncode);
+        assertTrue(passwordEncoder.matches("password", user.getPassword()));
+    }
+
+    @Test
+    void testUpdateUser_PasswordHashedOutsideTransaction() {
+        user = fixture.createUser("update");
+
+        userService.updateUser(userDto(user.getName(), "new-password"), user.getId());
+
+        assertEquals(List.of(false), transactionActiveOnEncode);
+        UserEntity updated = userRepository.findById(user.getId()).orElseThrow();
+        assertTrue(passwordEncoder.matches("new-password", updated.getPassword()));
+        assertEquals(user.getTokenVersion() + 1, updated.getTokenVersion());
+    }
+
+    private UserDto userDto(String name, String password) {
+        return UserDto.builder()
+                .name(name)
+                .email(name + "@example.com")
+                .password(password)
+                .role("ROLE_USER")
+                .build();
+    }
+}
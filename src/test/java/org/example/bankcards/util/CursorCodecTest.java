@@ -0,0 +1,24 @@
+package org.example.bankcards.util;
+
+import org.example.bankcards.exception.custom_exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorCodecTest {
+
+    @Test
+    void testEncodeDecode_RoundTrip() {
+        String cursor = CursorCodec.encode("2025-01-01T10:00", 42L);
+
+        assertArrayEquals(new String[]{"2025-01-01T10:00", "42"}, CursorCodec.decode(cursor, 2));
+        assertEquals(42L, CursorCodec.decodeId(CursorCodec.encode(42L)));
+    }
+
+    @Test
+    void testDecode_InvalidCursor_Exception() {
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decodeId("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decodeId(CursorCodec.encode("abc")));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(CursorCodec.encode(1L), 2));
+    }
+}